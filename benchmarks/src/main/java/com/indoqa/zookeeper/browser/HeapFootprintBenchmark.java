@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.zookeeper.data.Stat;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class HeapFootprintBenchmark {
+
+    private static final int FAN_OUT = 10;
+
+    @Param({"100000", "1000000"})
+    private int nodeCount;
+
+    @Param({"false", "true"})
+    private boolean uniqueNames;
+
+    private static Stat createStat(int index) {
+        Stat result = new Stat();
+
+        result.setCtime(1_500_000_000_000L + index);
+        result.setMtime(1_500_000_000_000L + index);
+        result.setMzxid(index);
+        result.setPzxid(index);
+        result.setVersion(index % 7);
+        result.setCversion(index % 11);
+        result.setDataLength(index % 1024);
+        result.setNumChildren(FAN_OUT);
+
+        return result;
+    }
+
+    static CompactTree createCompactTree(int nodeCount, boolean uniqueNames) {
+        CompactTree result = new CompactTree();
+        result.update(CompactTree.ROOT, createStat(0));
+
+        int created = 1;
+        for (int parent = 0; created < nodeCount; parent++) {
+            for (int i = 0; i < FAN_OUT && created < nodeCount; i++, created++) {
+                result.update(result.addChild(parent, getName(i, created, uniqueNames)), createStat(created));
+            }
+        }
+
+        return result;
+    }
+
+    static ZooKeeperTreeModel createTreeNodeModel(int nodeCount, boolean uniqueNames) {
+        ZooKeeperTreeNode root = new ZooKeeperTreeNode(NodeDetails.withPath("/"));
+        root.update(createStat(0));
+        ZooKeeperTreeModel result = new ZooKeeperTreeModel(root);
+
+        Deque<ZooKeeperTreeNode> parents = new ArrayDeque<>();
+        parents.add(root);
+
+        int created = 1;
+        while (created < nodeCount) {
+            ZooKeeperTreeNode parent = parents.poll();
+
+            for (int i = 0; i < FAN_OUT && created < nodeCount; i++, created++) {
+                ZooKeeperTreeNode child = new ZooKeeperTreeNode(
+                    NodeDetails.withPath(parent.getNodePath().getChild(getName(i, created, uniqueNames))));
+                child.update(createStat(created));
+                result.addChild(parent, child);
+                parents.add(child);
+            }
+        }
+
+        return result;
+    }
+
+    public static void main(String[] args) {
+        // JMH reports allocation rates but not retained sizes, so the footprint is measured by the heap usage after a full GC
+        for (String eachNodeCount : args.length > 0 ? args : new String[] {"100000", "1000000"}) {
+            int nodeCount = Integer.parseInt(eachNodeCount);
+
+            // repeated names are shared by the interning of both models, unique names show the cost of the names themselves
+            for (boolean eachUniqueNames : new boolean[] {false, true}) {
+                long treeNodeBytes = measureRetainedBytes(() -> createTreeNodeModel(nodeCount, eachUniqueNames));
+                long compactBytes = measureRetainedBytes(() -> createCompactTree(nodeCount, eachUniqueNames));
+
+                System.out.println(
+                    String.format(
+                        Locale.ENGLISH,
+                        "%,d nodes with %s names: ZooKeeperTreeModel %,d bytes (%,d per node), "
+                            + "compact arrays %,d bytes (%,d per node)",
+                        nodeCount,
+                        eachUniqueNames ? "unique" : "repeated",
+                        treeNodeBytes,
+                        treeNodeBytes / nodeCount,
+                        compactBytes,
+                        compactBytes / nodeCount));
+            }
+        }
+    }
+
+    private static String getName(int childIndex, int nodeIndex, boolean uniqueNames) {
+        if (uniqueNames) {
+            return String.format(Locale.ENGLISH, "member-%010d", nodeIndex);
+        }
+
+        return "node-" + childIndex;
+    }
+
+    private static long getUsedHeap(MemoryMXBean memoryMXBean) {
+        for (int i = 0; i < 3; i++) {
+            memoryMXBean.gc();
+        }
+
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long measureRetainedBytes(Supplier<Object> supplier) {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+        long before = getUsedHeap(memoryMXBean);
+        Object model = supplier.get();
+        long after = getUsedHeap(memoryMXBean);
+
+        if (model.hashCode() == 0) {
+            // keeps the model reachable until the heap has been measured
+            System.out.println();
+        }
+
+        return after - before;
+    }
+
+    @Benchmark
+    public Object buildCompactTree() {
+        return createCompactTree(this.nodeCount, this.uniqueNames);
+    }
+
+    @Benchmark
+    public ZooKeeperTreeModel buildTreeNodeModel() {
+        return createTreeNodeModel(this.nodeCount, this.uniqueNames);
+    }
+
+    // the viewer does not use this layout, it only shows what a struct-of-arrays tree would save compared to ZooKeeperTreeNode
+    static final class CompactTree {
+
+        static final int ROOT = 0;
+        static final int NO_NODE = -1;
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<String, Integer> nameIds = new HashMap<>();
+        private String[] names = new String[INITIAL_CAPACITY];
+        private int nameCount;
+
+        private int[] parents = new int[INITIAL_CAPACITY];
+        private int[] firstChildren = new int[INITIAL_CAPACITY];
+        private int[] nextSiblings = new int[INITIAL_CAPACITY];
+        private int[] nameIndexes = new int[INITIAL_CAPACITY];
+
+        private int[] versions = new int[INITIAL_CAPACITY];
+        private int[] cversions = new int[INITIAL_CAPACITY];
+        private int[] childCounts = new int[INITIAL_CAPACITY];
+        private int[] dataLengths = new int[INITIAL_CAPACITY];
+        private long[] createdTimes = new long[INITIAL_CAPACITY];
+        private long[] modifiedTimes = new long[INITIAL_CAPACITY];
+        private long[] mzxids = new long[INITIAL_CAPACITY];
+        private long[] pzxids = new long[INITIAL_CAPACITY];
+        private long[] ephemeralOwners = new long[INITIAL_CAPACITY];
+
+        private int size;
+
+        CompactTree() {
+            super();
+
+            this.createNode(NO_NODE, "/");
+        }
+
+        int addChild(int parent, String name) {
+            int result = this.createNode(parent, name);
+
+            // children are prepended, the footprint does not depend on their order
+            this.nextSiblings[result] = this.firstChildren[parent];
+            this.firstChildren[parent] = result;
+
+            return result;
+        }
+
+        void update(int node, Stat stat) {
+            this.childCounts[node] = stat.getNumChildren();
+            this.versions[node] = stat.getVersion();
+            this.cversions[node] = stat.getCversion();
+            this.createdTimes[node] = stat.getCtime();
+            this.modifiedTimes[node] = stat.getMtime();
+            this.dataLengths[node] = stat.getDataLength();
+            this.mzxids[node] = stat.getMzxid();
+            this.pzxids[node] = stat.getPzxid();
+            this.ephemeralOwners[node] = stat.getEphemeralOwner();
+        }
+
+        private int createNode(int parent, String name) {
+            if (this.size == this.parents.length) {
+                this.grow();
+            }
+
+            int result = this.size++;
+            this.parents[result] = parent;
+            this.firstChildren[result] = NO_NODE;
+            this.nextSiblings[result] = NO_NODE;
+            this.nameIndexes[result] = this.intern(name);
+
+            return result;
+        }
+
+        private void grow() {
+            int capacity = this.size * 2;
+
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+            this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+            this.nameIndexes = Arrays.copyOf(this.nameIndexes, capacity);
+
+            this.versions = Arrays.copyOf(this.versions, capacity);
+            this.cversions = Arrays.copyOf(this.cversions, capacity);
+            this.childCounts = Arrays.copyOf(this.childCounts, capacity);
+            this.dataLengths = Arrays.copyOf(this.dataLengths, capacity);
+            this.createdTimes = Arrays.copyOf(this.createdTimes, capacity);
+            this.modifiedTimes = Arrays.copyOf(this.modifiedTimes, capacity);
+            this.mzxids = Arrays.copyOf(this.mzxids, capacity);
+            this.pzxids = Arrays.copyOf(this.pzxids, capacity);
+            this.ephemeralOwners = Arrays.copyOf(this.ephemeralOwners, capacity);
+        }
+
+        private int intern(String name) {
+            Integer result = this.nameIds.get(name);
+            if (result != null) {
+                return result;
+            }
+
+            if (this.nameCount == this.names.length) {
+                this.names = Arrays.copyOf(this.names, this.nameCount * 2);
+            }
+
+            this.names[this.nameCount] = name;
+            this.nameIds.put(name, this.nameCount);
+            return this.nameCount++;
+        }
+    }
+}
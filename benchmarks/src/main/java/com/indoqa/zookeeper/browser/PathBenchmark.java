@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    @Param({"100", "10000"})
+    private int childCount;
+
+    private String[] childNames;
+    private NodePath parentPath;
+
+    @Benchmark
+    public String join() {
+        return ZooKeeperBrowserMain.join("/services/production/cluster-a", "member-0000012345");
+    }
+
+    @Benchmark
+    public String joinRoot() {
+        return ZooKeeperBrowserMain.join("/", "services");
+    }
+
+    @Benchmark
+    public NodePath nodePathChild() {
+        return this.parentPath.getChild("member-0000012345");
+    }
+
+    @Benchmark
+    public String nodePathToString() {
+        return this.parentPath.toString();
+    }
+
+    @Setup
+    public void setUp() {
+        this.parentPath = NodePath.parse("/services/production/cluster-a");
+
+        Random random = new Random(42);
+
+        this.childNames = new String[this.childCount];
+        for (int i = 0; i < this.childNames.length; i++) {
+            this.childNames[i] = "member-" + String.format("%010d", random.nextInt(Integer.MAX_VALUE));
+        }
+    }
+
+    @Benchmark
+    public String[] sortChildNames() {
+        String[] result = this.childNames.clone();
+        Arrays.sort(result);
+        return result;
+    }
+}
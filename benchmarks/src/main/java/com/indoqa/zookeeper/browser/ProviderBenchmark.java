@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.*;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderBenchmark {
+
+    private static final String PARENT_PATH = "/benchmark";
+    private static final int WINDOW_SIZE = 100;
+    private static final int MAX_PENDING_REQUESTS = 100;
+
+    @Param({"1000", "10000"})
+    private int childCount;
+
+    private TestingServer testingServer;
+    private ZooKeeper zooKeeper;
+    private PipelinedNodeLoader nodeLoader;
+
+    @Benchmark
+    public List<ZooKeeperTreeNode> expand() throws KeeperException, InterruptedException {
+        ZooKeeperTreeNode node = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH));
+
+        String[] childNames = this.nodeLoader.loadChildNames(node, false);
+        return this.nodeLoader.loadChildren(node, childNames, 0, WINDOW_SIZE, false);
+    }
+
+    @Benchmark
+    public List<ZooKeeperTreeNode> reload() throws KeeperException, InterruptedException {
+        // a reload fetches the names again and refreshes the stats of every child that is shown
+        ZooKeeperTreeNode node = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH));
+
+        String[] childNames = this.nodeLoader.loadChildNames(node, false);
+        List<ZooKeeperTreeNode> result = PipelinedNodeLoader.createChildren(node, childNames, 0, childNames.length);
+        this.nodeLoader.loadStats(result, false);
+        return result;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        this.testingServer = new TestingServer();
+
+        CountDownLatch connected = new CountDownLatch(1);
+        this.zooKeeper = new ZooKeeper(this.testingServer.getConnectString(), 30_000, event -> {
+            if (event.getState() == KeeperState.SyncConnected) {
+                connected.countDown();
+            }
+        });
+        connected.await();
+
+        this.zooKeeper.create(PARENT_PATH, new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+        for (int i = 0; i < this.childCount; i++) {
+            this.zooKeeper.create(
+                ZooKeeperBrowserMain.join(PARENT_PATH, "child-" + i),
+                new byte[0],
+                ZooDefs.Ids.OPEN_ACL_UNSAFE,
+                CreateMode.PERSISTENT);
+        }
+
+        this.nodeLoader = new PipelinedNodeLoader(this.zooKeeper, MAX_PENDING_REQUESTS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.zooKeeper.close();
+        this.testingServer.close();
+    }
+}
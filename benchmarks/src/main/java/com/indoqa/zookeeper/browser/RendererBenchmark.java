@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.awt.Component;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTree;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RendererBenchmark {
+
+    private ZooKeeperTreeNodeRenderer renderer;
+    private JTree tree;
+    private ZooKeeperTreeNode container;
+    private ZooKeeperTreeNode leaf;
+
+    @Benchmark
+    public Component renderContainer() {
+        return this.renderer.getTreeCellRendererComponent(this.tree, this.container, false, true, false, 0, false);
+    }
+
+    @Benchmark
+    public Component renderLeaf() {
+        return this.renderer.getTreeCellRendererComponent(this.tree, this.leaf, false, false, true, 1, false);
+    }
+
+    @Setup
+    public void setUp() {
+        this.container = TreeNodeBenchmark.createTree(10_000, 10);
+        this.leaf = (ZooKeeperTreeNode) this.container.getLastLeaf();
+
+        this.tree = new JTree(this.container);
+        this.renderer = new ZooKeeperTreeNodeRenderer();
+    }
+}
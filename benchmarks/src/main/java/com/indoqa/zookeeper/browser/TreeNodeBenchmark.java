@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.zookeeper.data.Stat;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeNodeBenchmark {
+
+    private static final int VISIBLE_ROWS = 50;
+
+    @Param({"1000", "100000"})
+    private int nodeCount;
+
+    @Param({"10"})
+    private int fanOut;
+
+    private ZooKeeperTreeNode root;
+    private ZooKeeperTreeNode deepestNode;
+    private String deepestPath;
+    private List<ZooKeeperTreeNode> visibleRows;
+    private Stat stat;
+
+    static ZooKeeperTreeNode createTree(int nodeCount, int fanOut) {
+        ZooKeeperTreeNode result = new ZooKeeperTreeNode(NodeDetails.withPath("/"));
+
+        Deque<ZooKeeperTreeNode> parents = new ArrayDeque<>();
+        parents.add(result);
+
+        int created = 1;
+        while (created < nodeCount) {
+            ZooKeeperTreeNode parent = parents.poll();
+
+            for (int i = 0; i < fanOut && created < nodeCount; i++, created++) {
+                ZooKeeperTreeNode child = new ZooKeeperTreeNode(
+                    NodeDetails.withPath(parent.getNodePath().getChild("node-" + i)));
+                parent.add(child);
+                parents.add(child);
+            }
+        }
+
+        return result;
+    }
+
+    private static int getTotalChildCountRecursively(ZooKeeperTreeNode node) {
+        // the walk every painted row did before the aggregates were kept up to date
+        int result = 0;
+
+        if (node.getNodeDetails().getChildren() != null) {
+            result += node.getNodeDetails().getChildren();
+        } else {
+            result += node.getChildCount();
+        }
+
+        for (int i = 0; i < node.getChildCount(); i++) {
+            result += getTotalChildCountRecursively(node.getChildAt(i));
+        }
+
+        return result;
+    }
+
+    private static boolean isFullyExploredRecursively(ZooKeeperTreeNode node) {
+        Integer children = node.getNodeDetails().getChildren();
+        if (children == null || children != node.getChildCount()) {
+            return false;
+        }
+
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!isFullyExploredRecursively(node.getChildAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Benchmark
+    public ZooKeeperTreeNode getNodeWithPath() {
+        return this.root.getNodeWithPath(this.deepestPath);
+    }
+
+    @Benchmark
+    public int getTotalChildCount() {
+        return this.root.getTotalChildCount();
+    }
+
+    @Benchmark
+    public int getTotalChildCountRecursive() {
+        return getTotalChildCountRecursively(this.root);
+    }
+
+    @Benchmark
+    public boolean isFullyExplored() {
+        return this.root.isFullyExplored();
+    }
+
+    @Benchmark
+    public boolean isFullyExploredRecursive() {
+        return isFullyExploredRecursively(this.root);
+    }
+
+    @Benchmark
+    public long repaint() {
+        // a repaint asks every visible container row for its aggregates, the root and its first descendants are visible
+        long result = 0;
+
+        for (ZooKeeperTreeNode eachRow : this.visibleRows) {
+            result += eachRow.getTotalChildCount() + (eachRow.isFullyExplored() ? 1 : 0);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public long repaintRecursive() {
+        long result = 0;
+
+        for (ZooKeeperTreeNode eachRow : this.visibleRows) {
+            result += getTotalChildCountRecursively(eachRow) + (isFullyExploredRecursively(eachRow) ? 1 : 0);
+        }
+
+        return result;
+    }
+
+    @Setup
+    public void setUp() {
+        this.root = createTree(this.nodeCount, this.fanOut);
+        this.deepestNode = (ZooKeeperTreeNode) this.root.getLastLeaf();
+        this.deepestPath = this.deepestNode.getZooKeeperPath();
+
+        // with the stats of every node loaded the tree is fully explored and the recursive walks cannot stop early
+        this.visibleRows = new ArrayList<>(VISIBLE_ROWS);
+        Deque<ZooKeeperTreeNode> nodes = new ArrayDeque<>();
+        nodes.add(this.root);
+        while (!nodes.isEmpty()) {
+            ZooKeeperTreeNode node = nodes.poll();
+            if (this.visibleRows.size() < VISIBLE_ROWS) {
+                this.visibleRows.add(node);
+            }
+
+            Stat nodeStat = new Stat();
+            nodeStat.setNumChildren(node.getChildCount());
+            node.update(nodeStat);
+
+            for (int i = 0; i < node.getChildCount(); i++) {
+                nodes.add(node.getChildAt(i));
+            }
+        }
+
+        this.stat = new Stat();
+        this.stat.setNumChildren(3);
+    }
+
+    @Benchmark
+    public int updateStats() {
+        // alternating child counts make every update propagate to the root
+        this.stat.setNumChildren(this.stat.getNumChildren() == 3 ? 4 : 3);
+        this.deepestNode.update(this.stat);
+        return this.root.getTotalChildCount();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class AsyncNodeProvider {
+
+    private static final int MAX_IO_THREADS = Integer.getInteger("zookeeper-browser.io-threads", 8);
+    private static final int MAX_QUEUED_REQUESTS = Integer.getInteger("zookeeper-browser.io-queue-size", 256);
+
+    private final NodeProvider nodeProvider;
+    private final ExecutorService executor;
+    private final Consumer<Throwable> failureHandler;
+
+    public AsyncNodeProvider(NodeProvider nodeProvider, ExecutorService executor, Consumer<Throwable> failureHandler) {
+        super();
+
+        this.nodeProvider = nodeProvider;
+        this.executor = executor;
+        this.failureHandler = failureHandler;
+    }
+
+    public static ExecutorService createExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // both the running and the queued requests are bounded, requests beyond that are rejected
+        ThreadPoolExecutor result = new ThreadPoolExecutor(
+            MAX_IO_THREADS,
+            MAX_IO_THREADS,
+            30,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS),
+            runnable -> {
+                Thread thread = new Thread(runnable, "zookeeper-browser-io-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    public CompletableFuture<Void> execute(Runnable runnable) {
+        return this.supply(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public CompletableFuture<String[]> getChildNames(ZooKeeperTreeNode node) {
+        return this.supply(() -> this.nodeProvider.getChildNames(node));
+    }
+
+    public CompletableFuture<List<ZooKeeperTreeNode>> getChildren(ZooKeeperTreeNode node, String[] childNames, int offset,
+            int count) {
+        return this.supply(() -> this.nodeProvider.getChildren(node, childNames, offset, count));
+    }
+
+    public CompletableFuture<byte[]> getContent(String path) {
+        return this.supply(() -> this.nodeProvider.getContent(path));
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Future<?> task = this.submit(result, supplier);
+
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                // interrupts the blocking ZooKeeper call of a request that is no longer needed
+                task.cancel(true);
+            } else if (throwable != null) {
+                this.failureHandler.accept(throwable);
+            }
+        });
+
+        return result;
+    }
+
+    private <T> Future<?> submit(CompletableFuture<T> result, Supplier<T> supplier) {
+        try {
+            return this.executor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+
+                try {
+                    result.complete(supplier.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // reported through the failure handler like every other failed request
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.table.AbstractTableModel;
+
+public class CacheMetricsTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMN_NAMES = {"Server", "Entries", "Bytes", "Hits", "Misses", "Hit Ratio", "Evictions"};
+
+    private final MetricsRegistry metricsRegistry;
+    private List<CacheMetricsMBean> rows = new ArrayList<>();
+
+    public CacheMetricsTableModel(MetricsRegistry metricsRegistry) {
+        super();
+
+        this.metricsRegistry = metricsRegistry;
+        this.refresh();
+    }
+
+    private static String formatRatio(long hits, long misses) {
+        if (hits + misses == 0) {
+            return "-";
+        }
+
+        return String.format(Locale.ENGLISH, "%.1f %%", hits * 100.0 / (hits + misses));
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 || columnIndex == 5 ? String.class : Long.class;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        CacheMetricsMBean cacheMetrics = this.rows.get(rowIndex);
+
+        switch (columnIndex) {
+            case 0:
+                return cacheMetrics.getZookeeperHost();
+            case 1:
+                return (long) cacheMetrics.getEntryCount();
+            case 2:
+                return cacheMetrics.getBytes();
+            case 3:
+                return cacheMetrics.getHits();
+            case 4:
+                return cacheMetrics.getMisses();
+            case 5:
+                return formatRatio(cacheMetrics.getHits(), cacheMetrics.getMisses());
+            case 6:
+                return cacheMetrics.getEvictions();
+            default:
+                return null;
+        }
+    }
+
+    public void refresh() {
+        List<CacheMetricsMBean> currentRows = this.metricsRegistry.getCaches();
+
+        if (currentRows.size() == this.rows.size()) {
+            this.rows = currentRows;
+            this.fireTableRowsUpdated(0, this.rows.size() - 1);
+        } else {
+            this.rows = currentRows;
+            this.fireTableDataChanged();
+        }
+    }
+}
@@ -0,0 +1,558 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class CachingNodeProvider implements NodeProvider, NodeChangeListener, ConnectionStateListener, CacheMetricsMBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingNodeProvider.class);
+
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int STATS_SIZE = 128;
+
+    private final NodeProvider delegate;
+    private final long maxBytes;
+    private final long timeToLive;
+
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final List<NodeChangeListener> nodeChangeListeners = new CopyOnWriteArrayList<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingNodeProvider(NodeProvider delegate, long maxBytes, long timeToLive) {
+        super();
+
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive;
+
+        this.delegate.addNodeChangeListener(this);
+    }
+
+    private static String getParentPath(String path) {
+        int separatorIndex = path.lastIndexOf('/');
+        if (separatorIndex <= 0) {
+            return path.length() > 1 ? "/" : null;
+        }
+
+        return path.substring(0, separatorIndex);
+    }
+
+    private static long getSize(String path) {
+        return ENTRY_OVERHEAD + 2L * path.length();
+    }
+
+    private static boolean isChildrenChanged(NodeDetails previous, NodeDetails current) {
+        return previous.getCversion() != current.getCversion() || previous.getPzxid() != current.getPzxid();
+    }
+
+    @Override
+    public void addNodeChangeListener(NodeChangeListener listener) {
+        this.nodeChangeListeners.add(listener);
+    }
+
+    @Override
+    public void analyzeSubtree(String path) {
+        this.delegate.analyzeSubtree(path);
+    }
+
+    @Override
+    public void buildSearchIndex(String path) {
+        this.delegate.buildSearchIndex(path);
+    }
+
+    @Override
+    public void cancelOperation(Operation operation, String path) {
+        this.delegate.cancelOperation(operation, path);
+    }
+
+    @Override
+    public void childrenChanged(String path) {
+        this.remove(CacheKey.children(path));
+        this.remove(CacheKey.stats(path));
+
+        this.nodeChangeListeners.forEach(listener -> listener.childrenChanged(path));
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    @Override
+    public void connectionStateChanged() {
+        // the watches of an expired session are gone, and no events arrive for the changes until the new session is connected
+        if (this.getConnectionState() == ConnectionState.CONNECTED) {
+            this.clear();
+        }
+    }
+
+    @Override
+    public void connectTo(String zookeeperHost) {
+        this.clear();
+        this.delegate.connectTo(zookeeperHost);
+    }
+
+    @Override
+    public void createChild(String path, String name) {
+        this.delegate.createChild(path, name);
+
+        this.remove(CacheKey.children(path));
+        this.remove(CacheKey.stats(path));
+    }
+
+    @Override
+    public void dataChanged(String path) {
+        this.remove(CacheKey.data(path));
+        this.remove(CacheKey.stats(path));
+
+        this.nodeChangeListeners.forEach(listener -> listener.dataChanged(path));
+    }
+
+    @Override
+    public void deleteNode(String path) {
+        this.delegate.deleteNode(path);
+        this.invalidate(path);
+    }
+
+    @Override
+    public void deleteNodeRecursively(String path) {
+        this.delegate.deleteNodeRecursively(path);
+        this.invalidate(path);
+    }
+
+    @Override
+    public void disconnect() {
+        LOGGER.info(
+            "Cache statistics: {} hits, {} misses, {} evictions, {} bytes in {} entries",
+            this.getHits(),
+            this.getMisses(),
+            this.getEvictions(),
+            this.getBytes(),
+            this.getEntryCount());
+
+        this.delegate.disconnect();
+        this.clear();
+    }
+
+    @Override
+    public void exportSubtree(String path, Path file) {
+        this.delegate.exportSubtree(path, file);
+    }
+
+    @Override
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    @Override
+    public String[] getChildNames(ZooKeeperTreeNode node) {
+        String[] cachedChildNames = this.getCachedChildNames(node);
+        if (cachedChildNames != null) {
+            this.hits.incrementAndGet();
+            return cachedChildNames;
+        }
+
+        this.misses.incrementAndGet();
+        boolean watched = this.delegate.isWatching();
+        String[] result = this.delegate.getChildNames(node);
+
+        long size = getSize(node.getZooKeeperPath());
+        for (String eachChildName : result) {
+            size += getSize(eachChildName);
+        }
+        this.putStats(node.getNodeDetails(), watched);
+        this.put(CacheKey.children(node.getZooKeeperPath()), result, size, watched);
+
+        return result;
+    }
+
+    @Override
+    public List<ZooKeeperTreeNode> getChildren(ZooKeeperTreeNode node, String[] childNames, int offset, int count) {
+        List<ZooKeeperTreeNode> result = PipelinedNodeLoader.createChildren(node, childNames, offset, count);
+        this.updateNodeStats(result);
+        return result;
+    }
+
+    @Override
+    public String getConnectedServer() {
+        return this.delegate.getConnectedServer();
+    }
+
+    @Override
+    public ConnectionState getConnectionState() {
+        return this.delegate.getConnectionState();
+    }
+
+    @Override
+    public byte[] getContent(String path) {
+        CacheEntry entry = this.get(CacheKey.data(path));
+        if (entry != null) {
+            this.hits.incrementAndGet();
+            return (byte[]) entry.getValue();
+        }
+
+        this.misses.incrementAndGet();
+        boolean watched = this.delegate.isWatching();
+        byte[] result = this.delegate.getContent(path);
+
+        this.put(CacheKey.data(path), result, getSize(path) + (result == null ? 0 : result.length), watched);
+        return result;
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return this.entries.size();
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    @Override
+    public List<SubtreeSize> getHeaviestSubtrees(int maxResults) {
+        return this.delegate.getHeaviestSubtrees(maxResults);
+    }
+
+    @Override
+    public ZooKeeperTreeNode getNode(String path) {
+        return this.delegate.getNode(path);
+    }
+
+    @Override
+    public SubtreeSize getSubtreeSize(NodePath path) {
+        return this.delegate.getSubtreeSize(path);
+    }
+
+    @Override
+    public String getZookeeperHost() {
+        return this.delegate.getZookeeperHost();
+    }
+
+    @Override
+    public void importSubtree(Path file, String path, ConflictPolicy conflictPolicy) {
+        this.delegate.importSubtree(file, path, conflictPolicy);
+        this.invalidate(path);
+    }
+
+    @Override
+    public synchronized void invalidate(String path) {
+        String prefix = path.endsWith("/") ? path : path + "/";
+        String parentPath = getParentPath(path);
+
+        for (Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = this.entries.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+            String entryPath = entry.getKey().getPath();
+
+            if (entryPath.equals(path) || entryPath.startsWith(prefix) || entryPath.equals(parentPath)) {
+                this.bytes -= entry.getValue().getSize();
+                iterator.remove();
+            }
+        }
+
+        this.delegate.invalidate(path);
+    }
+
+    @Override
+    public boolean isWatching() {
+        return this.delegate.isWatching();
+    }
+
+    @Override
+    public void nodeDeleted(String path) {
+        this.remove(CacheKey.children(path));
+        this.remove(CacheKey.stats(path));
+        this.remove(CacheKey.data(path));
+
+        String parentPath = getParentPath(path);
+        if (parentPath != null) {
+            this.remove(CacheKey.children(parentPath));
+            this.remove(CacheKey.stats(parentPath));
+        }
+
+        this.nodeChangeListeners.forEach(listener -> listener.nodeDeleted(path));
+    }
+
+    @Override
+    public void refreshNodeStats(List<ZooKeeperTreeNode> nodes) {
+        // the cached stats might be older than the refresh interval, so they are always loaded again
+        boolean watched = this.delegate.isWatching();
+        this.delegate.refreshNodeStats(nodes);
+
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            NodeDetails current = eachNode.getNodeDetails();
+            CacheEntry entry = this.get(CacheKey.stats(current.getPath()));
+            if (entry == null || isChildrenChanged((NodeDetails) entry.getValue(), current)) {
+                this.remove(CacheKey.children(current.getPath()));
+            }
+
+            if (current.getCreated() == null) {
+                this.remove(CacheKey.stats(current.getPath()));
+            } else {
+                this.putStats(current, watched && this.hasChildWatch(current.getPath()));
+            }
+        }
+    }
+
+    @Override
+    public List<String> search(String query, int maxResults) {
+        return this.delegate.search(query, maxResults);
+    }
+
+    @Override
+    public void setContent(String path, byte[] bytes) {
+        this.delegate.setContent(path, bytes);
+
+        this.remove(CacheKey.data(path));
+        this.remove(CacheKey.stats(path));
+    }
+
+    @Override
+    public void setWatching(boolean watching) {
+        // entries loaded with a watch never expire, so they must not survive without watch events
+        this.clear();
+        this.delegate.setWatching(watching);
+    }
+
+    @Override
+    public void updateNodeStats(List<ZooKeeperTreeNode> nodes) {
+        List<ZooKeeperTreeNode> missingNodes = new ArrayList<>();
+
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            CacheEntry entry = this.get(CacheKey.stats(eachNode.getZooKeeperPath()));
+            if (entry == null) {
+                missingNodes.add(eachNode);
+            } else {
+                eachNode.setUserObject(((NodeDetails) entry.getValue()).copy());
+            }
+        }
+
+        this.hits.addAndGet(nodes.size() - missingNodes.size());
+        if (missingNodes.isEmpty()) {
+            return;
+        }
+
+        this.misses.addAndGet(missingNodes.size());
+        boolean watched = this.delegate.isWatching();
+        this.delegate.updateNodeStats(missingNodes);
+
+        for (ZooKeeperTreeNode eachNode : missingNodes) {
+            this.putStats(eachNode.getNodeDetails(), watched && this.hasChildWatch(eachNode.getZooKeeperPath()));
+        }
+    }
+
+    @Override
+    public void updateNodeStats(ZooKeeperTreeNode node) {
+        CacheEntry entry = this.get(CacheKey.stats(node.getZooKeeperPath()));
+        if (entry != null) {
+            this.hits.incrementAndGet();
+            node.setUserObject(((NodeDetails) entry.getValue()).copy());
+            return;
+        }
+
+        this.misses.incrementAndGet();
+        boolean watched = this.delegate.isWatching();
+        this.delegate.updateNodeStats(node);
+        this.putStats(node.getNodeDetails(), watched && this.hasChildWatch(node.getZooKeeperPath()));
+    }
+
+    @Override
+    public void walkSubtree(String path, boolean fetchData, NodeVisitor visitor) {
+        this.delegate.walkSubtree(path, fetchData, visitor);
+    }
+
+    @Override
+    public ChangeFeed watchChanges(String path, ChangeEventBuffer changeEventBuffer) {
+        return this.delegate.watchChanges(path, changeEventBuffer);
+    }
+
+    private synchronized CacheEntry get(CacheKey key) {
+        CacheEntry entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.isExpired()) {
+            this.entries.remove(key);
+            this.bytes -= entry.getSize();
+            return null;
+        }
+
+        return entry;
+    }
+
+    private synchronized String[] getCachedChildNames(ZooKeeperTreeNode node) {
+        CacheEntry childrenEntry = this.get(CacheKey.children(node.getZooKeeperPath()));
+        if (childrenEntry == null) {
+            return null;
+        }
+
+        CacheEntry nodeEntry = this.get(CacheKey.stats(node.getZooKeeperPath()));
+        if (nodeEntry == null) {
+            return null;
+        }
+
+        node.setUserObject(((NodeDetails) nodeEntry.getValue()).copy());
+        return (String[]) childrenEntry.getValue();
+    }
+
+    private synchronized boolean hasChildWatch(String path) {
+        // stats loaded with exists() only have a data watch, the child count is only watched while the children are
+        CacheEntry entry = this.get(CacheKey.children(path));
+        return entry != null && entry.isWatched();
+    }
+
+    private synchronized void put(CacheKey key, Object value, long size, boolean watched) {
+        if (size > this.maxBytes) {
+            return;
+        }
+
+        // only entries covered by a watch of the current session are kept until an event removes them
+        long expires = watched ? Long.MAX_VALUE : System.currentTimeMillis() + this.timeToLive;
+        CacheEntry previous = this.entries.put(key, new CacheEntry(value, size, expires));
+        if (previous != null) {
+            this.bytes -= previous.getSize();
+        }
+        this.bytes += size;
+
+        Iterator<CacheEntry> iterator = this.entries.values().iterator();
+        while (this.bytes > this.maxBytes && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+
+            this.bytes -= eldest.getSize();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    private void putStats(NodeDetails nodeDetails, boolean watched) {
+        if (nodeDetails.getChildren() == null) {
+            return;
+        }
+
+        this.put(CacheKey.stats(nodeDetails.getPath()), nodeDetails.copy(), getSize(nodeDetails.getPath()) + STATS_SIZE, watched);
+    }
+
+    private synchronized void remove(CacheKey key) {
+        CacheEntry entry = this.entries.remove(key);
+        if (entry != null) {
+            this.bytes -= entry.getSize();
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final Object value;
+        private final long size;
+        private final long expires;
+
+        public CacheEntry(Object value, long size, long expires) {
+            super();
+
+            this.value = value;
+            this.size = size;
+            this.expires = expires;
+        }
+
+        public long getSize() {
+            return this.size;
+        }
+
+        public Object getValue() {
+            return this.value;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() > this.expires;
+        }
+
+        public boolean isWatched() {
+            return this.expires == Long.MAX_VALUE;
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final Kind kind;
+        private final String path;
+
+        private CacheKey(Kind kind, String path) {
+            super();
+
+            this.kind = kind;
+            this.path = path;
+        }
+
+        public static CacheKey children(String path) {
+            return new CacheKey(Kind.CHILDREN, path);
+        }
+
+        public static CacheKey data(String path) {
+            return new CacheKey(Kind.DATA, path);
+        }
+
+        public static CacheKey stats(String path) {
+            return new CacheKey(Kind.STATS, path);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || this.getClass() != obj.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return this.kind == other.kind && this.path.equals(other.path);
+        }
+
+        public String getPath() {
+            return this.path;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.kind.hashCode() + this.path.hashCode();
+        }
+    }
+
+    private enum Kind {
+        CHILDREN, STATS, DATA;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.function.BooleanSupplier;
+
+public class CancellationToken implements BooleanSupplier {
+
+    private final Operation operation;
+    private final String path;
+    private volatile boolean cancelled;
+
+    public CancellationToken(Operation operation, String path) {
+        super();
+
+        this.operation = operation;
+        this.path = path;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return this.cancelled;
+    }
+
+    public Operation getOperation() {
+        return this.operation;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public boolean isOperation(Operation otherOperation, String otherPath) {
+        return this.operation == otherOperation && this.path.equals(otherPath);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+public class ChangeEventBuffer {
+
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+
+    private final String[] paths;
+    private final long[] zxids;
+    private final long[] timestamps;
+    private final byte[] types;
+
+    private long firstSequence;
+    private long nextSequence;
+
+    public ChangeEventBuffer(int capacity) {
+        super();
+
+        this.paths = new String[capacity];
+        this.zxids = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.types = new byte[capacity];
+    }
+
+    public synchronized void add(ChangeType type, String path, long zxid, long timestamp) {
+        int index = this.getIndex(this.nextSequence);
+
+        this.paths[index] = path;
+        this.zxids[index] = zxid;
+        this.timestamps[index] = timestamp;
+        this.types[index] = (byte) type.ordinal();
+
+        this.nextSequence++;
+    }
+
+    public synchronized void clear() {
+        this.firstSequence = this.nextSequence;
+    }
+
+    public int getCapacity() {
+        return this.paths.length;
+    }
+
+    public synchronized String getPath(long sequence) {
+        return this.contains(sequence) ? this.paths[this.getIndex(sequence)] : null;
+    }
+
+    public synchronized long getSequence() {
+        return this.nextSequence;
+    }
+
+    public synchronized long getSize() {
+        return this.nextSequence - this.getOldestSequence();
+    }
+
+    public synchronized long getTimestamp(long sequence) {
+        return this.contains(sequence) ? this.timestamps[this.getIndex(sequence)] : -1;
+    }
+
+    public synchronized ChangeType getType(long sequence) {
+        return this.contains(sequence) ? CHANGE_TYPES[this.types[this.getIndex(sequence)]] : null;
+    }
+
+    public synchronized long getZxid(long sequence) {
+        return this.contains(sequence) ? this.zxids[this.getIndex(sequence)] : -1;
+    }
+
+    private boolean contains(long sequence) {
+        return sequence >= this.getOldestSequence() && sequence < this.nextSequence;
+    }
+
+    private int getIndex(long sequence) {
+        return (int) (sequence % this.paths.length);
+    }
+
+    private long getOldestSequence() {
+        return Math.max(this.firstSequence, this.nextSequence - this.paths.length);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.zookeeper.AsyncCallback.Children2Callback;
+import org.apache.zookeeper.AsyncCallback.StatCallback;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ChangeFeed implements Watcher, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final int MAX_QUEUED_REQUESTS = Integer.getInteger("zookeeper-browser.change-feed-queue-size", 100_000);
+
+    private final ZooKeeper zooKeeper;
+    private final String rootPath;
+    private final ChangeEventBuffer changeEventBuffer;
+
+    private final Semaphore pendingRequests;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>(MAX_QUEUED_REQUESTS);
+    private final Set<Request> queuedRequests = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedRequests = new AtomicLong();
+    private final Map<String, Set<String>> knownChildren = new ConcurrentHashMap<>();
+    private final AtomicBoolean rootDeleted = new AtomicBoolean();
+    private final Thread requestThread;
+    private volatile boolean closed;
+
+    private final StatCallback statCallback = this::statLoaded;
+    private final Children2Callback childrenCallback = this::childrenLoaded;
+
+    public ChangeFeed(ZooKeeper zooKeeper, String rootPath, ChangeEventBuffer changeEventBuffer, int maxPendingRequests) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.rootPath = rootPath;
+        this.changeEventBuffer = changeEventBuffer;
+        this.pendingRequests = new Semaphore(maxPendingRequests);
+
+        this.requestThread = new Thread(this::processRequests, "zookeeper-browser-change-feed");
+        this.requestThread.setDaemon(true);
+    }
+
+    @Override
+    public void close() {
+        // ZooKeeper 3.4 cannot remove watches, the remaining ones are ignored when they fire
+        this.closed = true;
+        this.requestThread.interrupt();
+        this.requests.clear();
+        this.queuedRequests.clear();
+    }
+
+    public long getDroppedRequests() {
+        return this.droppedRequests.get();
+    }
+
+    public int getPendingRequests() {
+        return this.requests.size();
+    }
+
+    public String getRootPath() {
+        return this.rootPath;
+    }
+
+    public int getWatchedNodes() {
+        return this.knownChildren.size();
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void process(WatchedEvent event) {
+        if (this.closed || event.getPath() == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case NodeDataChanged:
+                this.request(Request.stat(event.getPath(), ChangeType.DATA_CHANGED));
+                break;
+
+            case NodeChildrenChanged:
+                this.request(Request.children(event.getPath()));
+                break;
+
+            case NodeDeleted:
+                // the deletion is recorded with the pzxid of the parent once its children are listed again
+                this.knownChildren.remove(event.getPath());
+                // the data and the child watch of the root both report its deletion, it is recorded only once
+                if (event.getPath().equals(this.rootPath) && this.rootDeleted.compareAndSet(false, true)) {
+                    this.changeEventBuffer.add(ChangeType.DELETED, event.getPath(), -1, System.currentTimeMillis());
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    public void start() {
+        this.watch(this.rootPath, null);
+        this.requestThread.start();
+    }
+
+    private void childrenLoaded(int rc, String path, Object ctx, List<String> children, Stat stat) {
+        this.pendingRequests.release();
+        if (this.closed) {
+            return;
+        }
+
+        if (rc != Code.OK.intValue()) {
+            this.knownChildren.remove(path);
+            return;
+        }
+
+        Set<String> previousChildren = this.knownChildren.put(path, new HashSet<>(children));
+        if (previousChildren == null) {
+            for (String eachChild : children) {
+                this.watch(ZooKeeperBrowserMain.join(path, eachChild), null);
+            }
+            return;
+        }
+
+        for (String eachChild : children) {
+            if (!previousChildren.remove(eachChild)) {
+                this.watch(ZooKeeperBrowserMain.join(path, eachChild), ChangeType.CREATED);
+            }
+        }
+
+        long timestamp = System.currentTimeMillis();
+        for (String eachChild : previousChildren) {
+            this.changeEventBuffer.add(ChangeType.DELETED, ZooKeeperBrowserMain.join(path, eachChild), stat.getPzxid(), timestamp);
+        }
+    }
+
+    private void processRequests() {
+        try {
+            while (!this.closed) {
+                Request request = this.requests.take();
+                this.queuedRequests.remove(request);
+                this.pendingRequests.acquire();
+
+                if (request.isChildren()) {
+                    this.zooKeeper.getChildren(request.getPath(), this, this.childrenCallback, null);
+                } else {
+                    this.zooKeeper.exists(request.getPath(), this, this.statCallback, request.getChangeType());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not watch the changes below {}", this.rootPath, e);
+        }
+    }
+
+    private void request(Request request) {
+        // a path that is already waiting is not queued twice, e.g. for repeated data changes of the same znode
+        if (!this.queuedRequests.add(request)) {
+            return;
+        }
+
+        if (!this.requests.offer(request)) {
+            this.queuedRequests.remove(request);
+            this.droppedRequests.incrementAndGet();
+        }
+    }
+
+    private void statLoaded(int rc, String path, Object ctx, Stat stat) {
+        this.pendingRequests.release();
+        if (this.closed || rc != Code.OK.intValue() || ctx == null) {
+            return;
+        }
+
+        if (ctx == ChangeType.CREATED) {
+            this.changeEventBuffer.add(ChangeType.CREATED, path, stat.getCzxid(), stat.getCtime());
+        } else {
+            this.changeEventBuffer.add((ChangeType) ctx, path, stat.getMzxid(), stat.getMtime());
+        }
+    }
+
+    private void watch(String path, ChangeType changeType) {
+        this.request(Request.stat(path, changeType));
+        this.request(Request.children(path));
+    }
+
+    private static final class Request {
+
+        private final String path;
+        private final boolean children;
+        private final ChangeType changeType;
+
+        private Request(String path, boolean children, ChangeType changeType) {
+            super();
+
+            this.path = path;
+            this.children = children;
+            this.changeType = changeType;
+        }
+
+        public static Request children(String path) {
+            return new Request(path, true, null);
+        }
+
+        public static Request stat(String path, ChangeType changeType) {
+            return new Request(path, false, changeType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Request)) {
+                return false;
+            }
+
+            Request other = (Request) obj;
+            return this.children == other.children && this.changeType == other.changeType && this.path.equals(other.path);
+        }
+
+        public ChangeType getChangeType() {
+            return this.changeType;
+        }
+
+        public String getPath() {
+            return this.path;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.path.hashCode() + (this.children ? 1 : 0);
+        }
+
+        public boolean isChildren() {
+            return this.children;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import javax.swing.table.AbstractTableModel;
+
+public class ChangeFeedTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMN_NAMES = {"Time", "Zxid", "Type", "Path"};
+
+    private final ChangeEventBuffer changeEventBuffer;
+    private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private long sequence;
+    private int rowCount;
+
+    public ChangeFeedTableModel(ChangeEventBuffer changeEventBuffer) {
+        super();
+
+        this.changeEventBuffer = changeEventBuffer;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    public String getPath(int rowIndex) {
+        return this.changeEventBuffer.getPath(this.getSequence(rowIndex));
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        long rowSequence = this.getSequence(rowIndex);
+
+        switch (columnIndex) {
+            case 0:
+                long timestamp = this.changeEventBuffer.getTimestamp(rowSequence);
+                return timestamp == -1 ? null : this.dateFormat.format(new Date(timestamp));
+            case 1:
+                long zxid = this.changeEventBuffer.getZxid(rowSequence);
+                return zxid == -1 ? null : "0x" + Long.toHexString(zxid);
+            case 2:
+                return this.changeEventBuffer.getType(rowSequence);
+            case 3:
+                return this.changeEventBuffer.getPath(rowSequence);
+            default:
+                return null;
+        }
+    }
+
+    public boolean refresh() {
+        long currentSequence = this.changeEventBuffer.getSequence();
+        int currentRowCount = (int) this.changeEventBuffer.getSize();
+        if (currentSequence == this.sequence && currentRowCount == this.rowCount) {
+            return false;
+        }
+
+        // the rows are only read from the buffer when they become visible, the newest change is shown first
+        this.sequence = currentSequence;
+        this.rowCount = currentRowCount;
+        this.fireTableDataChanged();
+        return true;
+    }
+
+    private long getSequence(int rowIndex) {
+        return this.sequence - 1 - rowIndex;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.swing.AbstractListModel;
+
+public final class ContentListModel extends AbstractListModel<String> {
+
+    public static final int MAX_LINE_LENGTH = 1_024;
+    public static final int HEX_BYTES_PER_LINE = 16;
+    public static final int HEX_LINE_LENGTH = 10 + 3 * HEX_BYTES_PER_LINE + 1 + HEX_BYTES_PER_LINE;
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BINARY_DETECTION_LENGTH = 8_192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final byte[] content;
+    private final int[] lineOffsets;
+
+    private ContentListModel(byte[] content, int[] lineOffsets) {
+        super();
+
+        this.content = content;
+        this.lineOffsets = lineOffsets;
+    }
+
+    public static ContentListModel hex(byte[] content) {
+        return new ContentListModel(content, null);
+    }
+
+    public static boolean isBinary(byte[] content) {
+        for (int i = 0; i < Math.min(content.length, BINARY_DETECTION_LENGTH); i++) {
+            if (content[i] == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static ContentListModel text(byte[] content) {
+        int lineCount = 0;
+        for (int offset = 0; offset < content.length; offset = getLineEnd(content, offset)) {
+            lineCount++;
+        }
+
+        int[] lineOffsets = new int[lineCount + 1];
+        int line = 0;
+        for (int offset = 0; offset < content.length; offset = getLineEnd(content, offset)) {
+            lineOffsets[line++] = offset;
+        }
+        lineOffsets[lineCount] = content.length;
+
+        return new ContentListModel(content, lineOffsets);
+    }
+
+    private static int getLineEnd(byte[] content, int offset) {
+        int limit = Math.min(content.length, offset + MAX_LINE_LENGTH);
+
+        for (int i = offset; i < limit; i++) {
+            if (content[i] == '\n') {
+                return i + 1;
+            }
+        }
+
+        if (limit == content.length) {
+            return limit;
+        }
+
+        // overlong lines are wrapped, but never inside a multi-byte UTF-8 sequence
+        int result = limit;
+        while (result > offset + 1 && (content[result] & 0xC0) == 0x80) {
+            result--;
+        }
+        return result;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        if (this.isHex()) {
+            return this.getHexLine(index);
+        }
+
+        int start = this.lineOffsets[index];
+        int end = this.lineOffsets[index + 1];
+        while (end > start && (this.content[end - 1] == '\n' || this.content[end - 1] == '\r')) {
+            end--;
+        }
+
+        return new String(this.content, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getSize() {
+        if (this.isHex()) {
+            return (this.content.length + HEX_BYTES_PER_LINE - 1) / HEX_BYTES_PER_LINE;
+        }
+
+        return this.lineOffsets.length - 1;
+    }
+
+    public boolean isHex() {
+        return this.lineOffsets == null;
+    }
+
+    private String getHexLine(int index) {
+        int start = index * HEX_BYTES_PER_LINE;
+        int end = Math.min(this.content.length, start + HEX_BYTES_PER_LINE);
+
+        StringBuilder stringBuilder = new StringBuilder(HEX_LINE_LENGTH);
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            stringBuilder.append(HEX_DIGITS[(start >>> shift) & 0xF]);
+        }
+        stringBuilder.append("  ");
+
+        for (int i = start; i < start + HEX_BYTES_PER_LINE; i++) {
+            if (i < end) {
+                stringBuilder.append(HEX_DIGITS[(this.content[i] >> 4) & 0xF]).append(HEX_DIGITS[this.content[i] & 0xF]);
+            } else {
+                stringBuilder.append("  ");
+            }
+            stringBuilder.append(' ');
+        }
+
+        stringBuilder.append(' ');
+        for (int i = start; i < end; i++) {
+            char character = (char) (this.content[i] & 0xFF);
+            stringBuilder.append(character >= 0x20 && character < 0x7F ? character : '.');
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+public final class DiffTreeNode extends ZooKeeperTreeNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private DiffType diffType;
+    private NodeDetails left;
+    private NodeDetails right;
+
+    public DiffTreeNode(String relativePath) {
+        super(NodeDetails.withPath(relativePath));
+    }
+
+    public DiffType getDiffType() {
+        return this.diffType;
+    }
+
+    public NodeDetails getLeft() {
+        return this.left;
+    }
+
+    public NodeDetails getRight() {
+        return this.right;
+    }
+
+    public void setDiff(DiffType diffType, NodeDetails left, NodeDetails right) {
+        this.diffType = diffType;
+        this.left = left;
+        this.right = right;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MetricsRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final String JMX_DOMAIN = "com.indoqa.zookeeper.browser";
+
+    private final Map<String, OperationMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<CacheMetricsMBean, ObjectName> caches = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicInteger cacheCount = new AtomicInteger();
+    private final MBeanServer mBeanServer;
+
+    public MetricsRegistry(MBeanServer mBeanServer) {
+        super();
+
+        this.mBeanServer = mBeanServer;
+    }
+
+    public static MetricsRegistry withPlatformMBeanServer() {
+        return new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public void addCache(CacheMetricsMBean cache) {
+        // sessions may be connected to the same host, so caches are told apart by the order they were added in
+        ObjectName objectName = null;
+
+        if (this.mBeanServer != null) {
+            try {
+                objectName = new ObjectName(JMX_DOMAIN + ":type=Caches,session=" + this.cacheCount.incrementAndGet());
+                // the caches are not named after their MBean interface, so they are wrapped explicitly
+                this.mBeanServer.registerMBean(new StandardMBean(cache, CacheMetricsMBean.class), objectName);
+            } catch (JMException e) {
+                LOGGER.warn("Could not register cache metrics.", e);
+                objectName = null;
+            }
+        }
+
+        this.caches.put(cache, objectName);
+    }
+
+    public List<OperationMetrics> getAll() {
+        List<OperationMetrics> result = new ArrayList<>(this.metrics.values());
+        result.sort(Comparator.comparing(OperationMetrics::getServer).thenComparing(OperationMetrics::getOperation));
+        return result;
+    }
+
+    public List<CacheMetricsMBean> getCaches() {
+        synchronized (this.caches) {
+            return new ArrayList<>(this.caches.keySet());
+        }
+    }
+
+    public OperationMetrics getMetrics(Operation operation, String server) {
+        String currentServer = server == null ? "unknown" : server;
+        return this.metrics.computeIfAbsent(operation + "@" + currentServer, key -> this.register(operation, currentServer));
+    }
+
+    public void removeCache(CacheMetricsMBean cache) {
+        ObjectName objectName = this.caches.remove(cache);
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            this.mBeanServer.unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.warn("Could not unregister cache metrics {}.", objectName, e);
+        }
+    }
+
+    private OperationMetrics register(Operation operation, String server) {
+        OperationMetrics result = new OperationMetrics(operation, server);
+
+        if (this.mBeanServer != null) {
+            try {
+                ObjectName objectName = new ObjectName(
+                    JMX_DOMAIN + ":type=Operations,server=" + ObjectName.quote(server) + ",operation=" + operation.name());
+                if (!this.mBeanServer.isRegistered(objectName)) {
+                    this.mBeanServer.registerMBean(result, objectName);
+                }
+            } catch (JMException e) {
+                LOGGER.warn("Could not register metrics of {} at {}.", operation, server, e);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.table.AbstractTableModel;
+
+public class MetricsTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMN_NAMES = {
+        "Server", "Operation", "Count", "Errors", "In-Flight", "Mean (ms)", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Max (ms)",
+        "Bytes"};
+
+    private final MetricsRegistry metricsRegistry;
+    private List<OperationMetrics> rows = new ArrayList<>();
+
+    public MetricsTableModel(MetricsRegistry metricsRegistry) {
+        super();
+
+        this.metricsRegistry = metricsRegistry;
+        this.refresh();
+    }
+
+    private static String format(double milliseconds) {
+        return String.format(Locale.ENGLISH, "%.2f", milliseconds);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 2 || columnIndex == 3 || columnIndex == 4 || columnIndex == 10 ? Long.class : String.class;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        OperationMetrics operationMetrics = this.rows.get(rowIndex);
+
+        switch (columnIndex) {
+            case 0:
+                return operationMetrics.getServer();
+            case 1:
+                return operationMetrics.getOperation().name();
+            case 2:
+                return operationMetrics.getCount();
+            case 3:
+                return operationMetrics.getErrors();
+            case 4:
+                return operationMetrics.getInFlight();
+            case 5:
+                return format(operationMetrics.getMeanMillis());
+            case 6:
+                return format(operationMetrics.getP50Millis());
+            case 7:
+                return format(operationMetrics.getP90Millis());
+            case 8:
+                return format(operationMetrics.getP99Millis());
+            case 9:
+                return format(operationMetrics.getMaxMillis());
+            case 10:
+                return operationMetrics.getBytes();
+            default:
+                return null;
+        }
+    }
+
+    public void refresh() {
+        List<OperationMetrics> currentRows = this.metricsRegistry.getAll();
+
+        if (currentRows.size() == this.rows.size()) {
+            this.rows = currentRows;
+            this.fireTableRowsUpdated(0, this.rows.size() - 1);
+        } else {
+            this.rows = currentRows;
+            this.fireTableDataChanged();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+
+public final class MoreChildrenTreeNode extends ZooKeeperTreeNode {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean previous;
+    private final int count;
+
+    private MoreChildrenTreeNode(boolean previous, int count) {
+        super(null);
+
+        this.previous = previous;
+        this.count = count;
+    }
+
+    public static MoreChildrenTreeNode next(int count) {
+        return new MoreChildrenTreeNode(false, count);
+    }
+
+    public static MoreChildrenTreeNode previous(int count) {
+        return new MoreChildrenTreeNode(true, count);
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    @Override
+    public ZooKeeperTreeNode getNodeWithPath(String path) {
+        return null;
+    }
+
+    @Override
+    public String getPathName() {
+        String formattedCount = NumberFormat.getIntegerInstance(Locale.ENGLISH).format(this.count);
+
+        if (this.previous) {
+            return "... " + formattedCount + " previous";
+        }
+
+        return "... " + formattedCount + " more";
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return true;
+    }
+
+    public boolean isPrevious() {
+        return this.previous;
+    }
+
+    @Override
+    protected int getLocalChildCount() {
+        return 0;
+    }
+
+    @Override
+    protected boolean isLocallyExplored() {
+        return true;
+    }
+}
@@ -18,14 +18,26 @@ package com.indoqa.zookeeper.browser;
 
 import java.util.Date;
 
+import org.apache.zookeeper.data.Stat;
+
 public class NodeDetails {
 
-    private String path;
+    private NodePath path;
     private Integer children;
     private int version;
     private int cversion;
     private Date created;
     private Date modified;
+    private int dataLength;
+    private boolean ephemeral;
+    private long mzxid;
+    private long pzxid;
+
+    public static NodeDetails withPath(NodePath path) {
+        NodeDetails result = new NodeDetails();
+        result.setNodePath(path);
+        return result;
+    }
 
     public static NodeDetails withPath(String path) {
         NodeDetails result = new NodeDetails();
@@ -33,6 +45,21 @@ public class NodeDetails {
         return result;
     }
 
+    public NodeDetails copy() {
+        NodeDetails result = new NodeDetails();
+        result.setNodePath(this.path);
+        result.setChildren(this.children);
+        result.setVersion(this.version);
+        result.setCversion(this.cversion);
+        result.setCreated(this.created);
+        result.setModified(this.modified);
+        result.setDataLength(this.dataLength);
+        result.setEphemeral(this.ephemeral);
+        result.setMzxid(this.mzxid);
+        result.setPzxid(this.pzxid);
+        return result;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -67,14 +94,35 @@ public class NodeDetails {
         return this.cversion;
     }
 
+    public int getDataLength() {
+        return this.dataLength;
+    }
+
     public Date getModified() {
         return this.modified;
     }
 
-    public String getPath() {
+    public long getMzxid() {
+        return this.mzxid;
+    }
+
+    public String getName() {
+        return this.path == null ? null : this.path.getName();
+    }
+
+    public NodePath getNodePath() {
         return this.path;
     }
 
+    public String getPath() {
+        // the full path is only built when it is needed, e.g. for a ZooKeeper request
+        return this.path == null ? null : this.path.toString();
+    }
+
+    public long getPzxid() {
+        return this.pzxid;
+    }
+
     public int getVersion() {
         return this.version;
     }
@@ -87,6 +135,10 @@ public class NodeDetails {
         return result;
     }
 
+    public boolean isEphemeral() {
+        return this.ephemeral;
+    }
+
     public void setChildren(Integer children) {
         this.children = children;
     }
@@ -99,15 +151,47 @@ public class NodeDetails {
         this.cversion = cversion;
     }
 
+    public void setDataLength(int dataLength) {
+        this.dataLength = dataLength;
+    }
+
+    public void setEphemeral(boolean ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+
     public void setModified(Date modified) {
         this.modified = modified;
     }
 
-    public void setPath(String path) {
+    public void setMzxid(long mzxid) {
+        this.mzxid = mzxid;
+    }
+
+    public void setNodePath(NodePath path) {
         this.path = path;
     }
 
+    public void setPath(String path) {
+        this.path = NodePath.parse(path);
+    }
+
+    public void setPzxid(long pzxid) {
+        this.pzxid = pzxid;
+    }
+
     public void setVersion(int version) {
         this.version = version;
     }
+
+    public void update(Stat stat) {
+        this.setChildren(stat.getNumChildren());
+        this.setCreated(new Date(stat.getCtime()));
+        this.setCversion(stat.getCversion());
+        this.setDataLength(stat.getDataLength());
+        this.setEphemeral(stat.getEphemeralOwner() != 0);
+        this.setModified(new Date(stat.getMtime()));
+        this.setMzxid(stat.getMzxid());
+        this.setPzxid(stat.getPzxid());
+        this.setVersion(stat.getVersion());
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+public final class NodePath {
+
+    public static final NodePath ROOT = new NodePath(null, "");
+
+    private final NodePath parent;
+    private final String name;
+    private final int depth;
+    private final int hash;
+
+    private NodePath(NodePath parent, String name) {
+        super();
+
+        this.parent = parent;
+        this.name = name;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+        this.hash = parent == null ? 0 : 31 * parent.hash + name.hashCode();
+    }
+
+    public static NodePath parse(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        NodePath result = ROOT;
+
+        int start = path.startsWith("/") ? 1 : 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+
+            if (end > start) {
+                result = result.getChild(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof NodePath)) {
+            return false;
+        }
+
+        NodePath other = (NodePath) obj;
+        if (this.hash != other.hash || this.depth != other.depth) {
+            return false;
+        }
+
+        // siblings share their parent instance, so the comparison usually stops after the first segment
+        NodePath path = this;
+        while (path != other) {
+            if (!path.name.equals(other.name)) {
+                return false;
+            }
+
+            path = path.parent;
+            other = other.parent;
+        }
+
+        return true;
+    }
+
+    public NodePath getChild(String childName) {
+        return new NodePath(this, childName);
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public NodePath getParent() {
+        return this.parent;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    public boolean startsWith(NodePath prefix) {
+        NodePath path = this;
+        while (path != null && path.depth > prefix.depth) {
+            path = path.parent;
+        }
+
+        return prefix.equals(path);
+    }
+
+    @Override
+    public String toString() {
+        if (this.parent == null) {
+            return "/";
+        }
+
+        String[] segments = new String[this.depth];
+        int length = 0;
+        for (NodePath path = this; path.parent != null; path = path.parent) {
+            segments[path.depth - 1] = path.name;
+            length += path.name.length() + 1;
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(length);
+        for (String eachSegment : segments) {
+            stringBuilder.append('/').append(eachSegment);
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -16,10 +16,19 @@
  */
 package com.indoqa.zookeeper.browser;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface NodeProvider {
 
+    void addNodeChangeListener(NodeChangeListener listener);
+
+    void analyzeSubtree(String path);
+
+    void buildSearchIndex(String path);
+
+    void cancelOperation(Operation operation, String path);
+
     void connectTo(String zookeeperHost);
 
     void createChild(String path, String name);
@@ -30,18 +39,46 @@ public interface NodeProvider {
 
     void disconnect();
 
-    List<ZooKeeperTreeNode> getChildren(ZooKeeperTreeNode node, int maxCount);
+    void exportSubtree(String path, Path file);
+
+    String[] getChildNames(ZooKeeperTreeNode node);
+
+    List<ZooKeeperTreeNode> getChildren(ZooKeeperTreeNode node, String[] childNames, int offset, int count);
+
+    String getConnectedServer();
 
     ConnectionState getConnectionState();
 
     byte[] getContent(String path);
 
+    List<SubtreeSize> getHeaviestSubtrees(int maxResults);
+
     ZooKeeperTreeNode getNode(String path);
 
+    SubtreeSize getSubtreeSize(NodePath path);
+
     String getZookeeperHost();
 
+    void importSubtree(Path file, String path, ConflictPolicy conflictPolicy);
+
+    void invalidate(String path);
+
+    boolean isWatching();
+
+    void refreshNodeStats(List<ZooKeeperTreeNode> nodes);
+
+    List<String> search(String query, int maxResults);
+
     void setContent(String path, byte[] bytes);
 
+    void setWatching(boolean watching);
+
+    void updateNodeStats(List<ZooKeeperTreeNode> nodes);
+
     void updateNodeStats(ZooKeeperTreeNode node);
 
+    void walkSubtree(String path, boolean fetchData, NodeVisitor visitor);
+
+    ChangeFeed watchChanges(String path, ChangeEventBuffer changeEventBuffer);
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.List;
+
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Stat;
+
+public class NodeRecord {
+
+    private String path;
+    private Stat stat;
+    private List<String> children;
+    private byte[] data;
+    private List<ACL> acl;
+
+    public static NodeRecord withPath(String path) {
+        NodeRecord result = new NodeRecord();
+        result.setPath(path);
+        return result;
+    }
+
+    public List<ACL> getAcl() {
+        return this.acl;
+    }
+
+    public List<String> getChildren() {
+        return this.children;
+    }
+
+    public byte[] getData() {
+        return this.data;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public Stat getStat() {
+        return this.stat;
+    }
+
+    public void setAcl(List<ACL> acl) {
+        this.acl = acl;
+    }
+
+    public void setChildren(List<String> children) {
+        this.children = children;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setStat(Stat stat) {
+        this.stat = stat;
+    }
+}
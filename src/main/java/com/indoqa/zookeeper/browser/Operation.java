@@ -17,5 +17,6 @@
 package com.indoqa.zookeeper.browser;
 
 public enum Operation {
-    LOAD_CHILDREN, LOAD_CONTENT, DELETE_NODE;
+    LOAD_CHILDREN, LOAD_CONTENT, DELETE_NODE, EXPORT_SUBTREE, IMPORT_SUBTREE, INDEX_SUBTREE, LIST_CHILDREN, LOAD_STATS,
+    SAVE_CONTENT, CREATE_NODE, WALK_SUBTREE, ANALYZE_SUBTREE, LOAD_ACL, SAVE_ACL, MULTI;
 }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OperationMetrics implements OperationMetricsMBean {
+
+    private static final double MICROS_PER_MILLI = TimeUnit.MILLISECONDS.toMicros(1);
+
+    private final Operation operation;
+    private final String server;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public OperationMetrics(Operation operation, String server) {
+        super();
+
+        this.operation = operation;
+        this.server = server;
+    }
+
+    public void completed(long startTime, long transferredBytes, boolean failed) {
+        this.inFlight.decrementAndGet();
+        this.latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        this.bytes.addAndGet(transferredBytes);
+
+        if (failed) {
+            this.errors.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getBytes() {
+        return this.bytes.get();
+    }
+
+    @Override
+    public long getCount() {
+        return this.latencies.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.get();
+    }
+
+    @Override
+    public long getInFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return this.latencies.getMax() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return this.latencies.getMean() / MICROS_PER_MILLI;
+    }
+
+    public Operation getOperation() {
+        return this.operation;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return this.latencies.getPercentile(50) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return this.latencies.getPercentile(90) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return this.latencies.getPercentile(99) / MICROS_PER_MILLI;
+    }
+
+    public String getServer() {
+        return this.server;
+    }
+
+    public long started() {
+        this.inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+
+public class PipelinedNodeLoader {
+
+    private static final int INTERNED_NAMES = 4096;
+
+    private final ZooKeeper zooKeeper;
+    private final Semaphore pendingRequests;
+    private final AtomicReferenceArray<String> names = new AtomicReferenceArray<>(INTERNED_NAMES);
+
+    public PipelinedNodeLoader(ZooKeeper zooKeeper, int maxPendingRequests) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.pendingRequests = new Semaphore(maxPendingRequests);
+    }
+
+    public static List<ZooKeeperTreeNode> createChildren(ZooKeeperTreeNode node, String[] childNames, int offset, int count) {
+        int end = Math.min(childNames.length, offset + count);
+        List<ZooKeeperTreeNode> result = new ArrayList<>(Math.max(0, end - offset));
+
+        NodePath parentPath = node.getNodePath();
+        for (int i = offset; i < end; i++) {
+            result.add(new ZooKeeperTreeNode(NodeDetails.withPath(parentPath.getChild(childNames[i]))));
+        }
+
+        return result;
+    }
+
+    public String[] loadChildNames(ZooKeeperTreeNode node, boolean watch) throws KeeperException, InterruptedException {
+        if (watch) {
+            // the child list only registers a child watch, the data watch of the node itself is set in the same round trip
+            this.zooKeeper.exists(node.getZooKeeperPath(), true, (rc, path, ctx, stat) -> {
+                // the stats are taken from the child list
+            }, null);
+        }
+
+        Stat stat = new Stat();
+        List<String> children = this.zooKeeper.getChildren(node.getZooKeeperPath(), watch, stat);
+        node.update(stat);
+
+        String[] result = new String[children.size()];
+        for (int i = 0; i < result.length; i++) {
+            // names like "config" or "lock" repeat below many parents, the nodes of this connection share one instance
+            result[i] = this.intern(children.get(i));
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    public List<ZooKeeperTreeNode> loadChildren(ZooKeeperTreeNode node, String[] childNames, int offset, int count, boolean watch)
+            throws KeeperException, InterruptedException {
+        List<ZooKeeperTreeNode> result = createChildren(node, childNames, offset, count);
+        this.loadStats(result, watch);
+        return result;
+    }
+
+    public void loadStats(List<ZooKeeperTreeNode> nodes, boolean watch) throws KeeperException, InterruptedException {
+        CountDownLatch remaining = new CountDownLatch(nodes.size());
+        AtomicReference<KeeperException> error = new AtomicReference<>();
+
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            this.pendingRequests.acquire();
+
+            this.zooKeeper.exists(eachNode.getZooKeeperPath(), watch, (rc, path, ctx, stat) -> {
+                try {
+                    if (rc == Code.OK.intValue()) {
+                        ((ZooKeeperTreeNode) ctx).update(stat);
+                    } else if (rc != Code.NONODE.intValue()) {
+                        error.compareAndSet(null, KeeperException.create(Code.get(rc), path));
+                    }
+                } finally {
+                    this.pendingRequests.release();
+                    remaining.countDown();
+                }
+            }, eachNode);
+        }
+
+        remaining.await();
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    private String intern(String name) {
+        // a lossy table of fixed size: repeated names keep hitting their slot, while unique names like the ones of sequential
+        // znodes only replace each other instead of accumulating for the lifetime of the connection
+        int hash = name.hashCode();
+        int index = (hash ^ hash >>> 16) & (INTERNED_NAMES - 1);
+
+        String result = this.names.get(index);
+        if (name.equals(result)) {
+            return result;
+        }
+
+        this.names.set(index, name);
+        return name;
+    }
+}
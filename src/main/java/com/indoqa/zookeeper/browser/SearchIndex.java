@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class SearchIndex {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int MAX_TOKENS_PER_NODE = 256;
+    private static final int MIN_COMPACTION_SIZE = 10_000;
+
+    private final int maxIndexedBytes;
+
+    private final List<String> paths = new ArrayList<>();
+    private final NavigableMap<String, Integer> ids = new TreeMap<>();
+    private final NavigableMap<String, IntList> postings = new TreeMap<>();
+    private int removedCount;
+
+    public SearchIndex(int maxIndexedBytes) {
+        super();
+
+        this.maxIndexedBytes = maxIndexedBytes;
+    }
+
+    private static boolean isText(byte[] data, int length) {
+        for (int i = 0; i < length; i++) {
+            if (data[i] == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void tokenize(String value, Set<String> tokens) {
+        int start = -1;
+
+        for (int i = 0; i <= value.length() && tokens.size() < MAX_TOKENS_PER_NODE; i++) {
+            boolean tokenCharacter = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+
+            if (tokenCharacter && start == -1) {
+                start = i;
+            } else if (!tokenCharacter && start != -1) {
+                tokens.add(value.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ENGLISH));
+                start = -1;
+            }
+        }
+    }
+
+    public synchronized void add(String path, byte[] data) {
+        this.remove(path);
+
+        int id = this.paths.size();
+        this.paths.add(path);
+        this.ids.put(path, id);
+
+        Set<String> tokens = new HashSet<>();
+        tokenize(path, tokens);
+        if (data != null) {
+            int length = Math.min(data.length, this.maxIndexedBytes);
+            if (isText(data, length)) {
+                tokenize(new String(data, 0, length, StandardCharsets.UTF_8), tokens);
+            }
+        }
+
+        for (String eachToken : tokens) {
+            this.postings.computeIfAbsent(eachToken, key -> new IntList()).add(id);
+        }
+
+        if (this.removedCount > MIN_COMPACTION_SIZE && this.removedCount > this.ids.size()) {
+            this.compact();
+        }
+    }
+
+    public synchronized void clear() {
+        this.paths.clear();
+        this.ids.clear();
+        this.postings.clear();
+        this.removedCount = 0;
+    }
+
+    public synchronized boolean contains(String path) {
+        return this.ids.containsKey(path);
+    }
+
+    public synchronized void remove(String path) {
+        Integer id = this.ids.remove(path);
+
+        if (id != null) {
+            this.paths.set(id, null);
+            this.removedCount++;
+        }
+    }
+
+    public synchronized void removeSubtree(String path) {
+        this.remove(path);
+
+        String prefix = path.endsWith("/") ? path : path + "/";
+        // '0' is the character following '/'
+        String end = prefix.substring(0, prefix.length() - 1) + '0';
+        for (String eachPath : new ArrayList<>(this.ids.subMap(prefix, true, end, false).keySet())) {
+            this.remove(eachPath);
+        }
+    }
+
+    public synchronized List<String> search(String query, int maxResults) {
+        Set<String> queryTokens = new HashSet<>();
+        tokenize(query, queryTokens);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BitSet matches = null;
+        for (String eachQueryToken : queryTokens) {
+            // every query token is matched as a prefix, so partial words find results as well
+            BitSet tokenMatches = new BitSet(this.paths.size());
+            for (IntList eachPosting : this.postings.subMap(eachQueryToken, eachQueryToken + Character.MAX_VALUE).values()) {
+                eachPosting.addTo(tokenMatches);
+            }
+
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.and(tokenMatches);
+            }
+
+            if (matches.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<String> result = new ArrayList<>();
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            String path = this.paths.get(id);
+            if (path != null) {
+                result.add(path);
+            }
+        }
+
+        Collections.sort(result);
+        return result.size() > maxResults ? new ArrayList<>(result.subList(0, maxResults)) : result;
+    }
+
+    public synchronized int size() {
+        return this.ids.size();
+    }
+
+    private void compact() {
+        int[] newIds = new int[this.paths.size()];
+        List<String> newPaths = new ArrayList<>(this.ids.size());
+
+        for (int i = 0; i < this.paths.size(); i++) {
+            String path = this.paths.get(i);
+
+            if (path == null) {
+                newIds[i] = -1;
+            } else {
+                newIds[i] = newPaths.size();
+                newPaths.add(path);
+                this.ids.put(path, newIds[i]);
+            }
+        }
+
+        for (Iterator<IntList> iterator = this.postings.values().iterator(); iterator.hasNext();) {
+            IntList posting = iterator.next();
+            posting.remap(newIds);
+
+            if (posting.isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        this.paths.clear();
+        this.paths.addAll(newPaths);
+        this.removedCount = 0;
+    }
+
+    private static class IntList {
+
+        private int[] values = new int[2];
+        private int size;
+
+        public void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            this.values[this.size++] = value;
+        }
+
+        public void addTo(BitSet bitSet) {
+            for (int i = 0; i < this.size; i++) {
+                bitSet.set(this.values[i]);
+            }
+        }
+
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        public void remap(int[] newValues) {
+            int newSize = 0;
+
+            for (int i = 0; i < this.size; i++) {
+                int newValue = newValues[this.values[i]];
+                if (newValue != -1) {
+                    this.values[newSize++] = newValue;
+                }
+            }
+
+            this.size = newSize;
+            this.values = Arrays.copyOf(this.values, Math.max(2, newSize));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooKeeper;
+
+public class SearchIndexer implements NodeChangeListener {
+
+    private final ZooKeeper zooKeeper;
+    private final SearchIndex searchIndex;
+    private final int maxPendingRequests;
+
+    private BooleanSupplier cancelled = () -> false;
+    private ProgressListener progressListener = (completed, total) -> {
+        // do nothing
+    };
+
+    public SearchIndexer(ZooKeeper zooKeeper, SearchIndex searchIndex, int maxPendingRequests) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.searchIndex = searchIndex;
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    @Override
+    public void childrenChanged(String path) {
+        if (!this.searchIndex.contains(path)) {
+            return;
+        }
+
+        try {
+            // removed children are reported by their own watches, only new children must be crawled
+            List<String> children = this.zooKeeper.getChildren(path, true);
+            for (String eachChild : children) {
+                String childPath = ZooKeeperBrowserMain.join(path, eachChild);
+                if (this.searchIndex.contains(childPath)) {
+                    continue;
+                }
+
+                try {
+                    this.crawl(childPath);
+                } catch (KeeperException.NoNodeException e) {
+                    // deleted again in the meantime
+                }
+            }
+        } catch (KeeperException.NoNodeException e) {
+            this.searchIndex.removeSubtree(path);
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void dataChanged(String path) {
+        if (!this.searchIndex.contains(path)) {
+            return;
+        }
+
+        try {
+            this.searchIndex.add(path, this.zooKeeper.getData(path, true, null));
+        } catch (KeeperException.NoNodeException e) {
+            this.searchIndex.removeSubtree(path);
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        }
+    }
+
+    public long index(String path) throws KeeperException, InterruptedException, IOException {
+        this.searchIndex.removeSubtree(path);
+        return this.crawl(path);
+    }
+
+    @Override
+    public void nodeDeleted(String path) {
+        this.searchIndex.removeSubtree(path);
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private long crawl(String path) throws KeeperException, InterruptedException, IOException {
+        SubtreeWalker subtreeWalker = new SubtreeWalker(this.zooKeeper, this.maxPendingRequests);
+        subtreeWalker.setFetchData(true);
+        // the watches keep the index up to date after crawling
+        subtreeWalker.setWatch(true);
+        subtreeWalker.setCancelled(this.cancelled);
+
+        long[] count = new long[1];
+        subtreeWalker.walk(path, nodeRecord -> {
+            this.searchIndex.add(nodeRecord.getPath(), nodeRecord.getData());
+
+            if (++count[0] % 100 == 0) {
+                this.progressListener.progress(count[0], 0);
+            }
+        });
+
+        return count[0];
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Insets;
+import java.awt.Toolkit;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.*;
+
+public class SessionManager {
+
+    private static final String BASE_TITLE = "Indoqa ZooKeeper Browser";
+    private static final String NEW_SESSION_TITLE = "New Connection";
+    private static final String ADD_SESSION_TITLE = "+";
+
+    private static final long CACHE_SIZE = Long.getLong("zookeeper-browser.cache-size", 32 * 1024 * 1024);
+    private static final long CACHE_TIME_TO_LIVE = Long.getLong("zookeeper-browser.cache-ttl", 10_000);
+    private static final long SESSION_IDLE_TIMEOUT = Long.getLong("zookeeper-browser.session-idle-timeout", 15 * 60 * 1000);
+    private static final int IDLE_CHECK_DELAY = 30_000;
+
+    private final MetricsRegistry metricsRegistry;
+    private final List<Session> sessions = new ArrayList<>();
+    private final JFrame frame;
+    private final JTabbedPane tabbedPane;
+    private final Timer idleTimer;
+
+    private Session selectedSession;
+    private boolean updatingTabs;
+
+    public SessionManager(MetricsRegistry metricsRegistry) {
+        super();
+
+        this.metricsRegistry = metricsRegistry;
+
+        this.frame = new JFrame(BASE_TITLE);
+        this.frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        this.frame.setLayout(new BorderLayout());
+        this.frame.setIconImage(Toolkit.getDefaultToolkit().getImage(this.getClass().getResource("/icon.png")));
+        this.frame.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                SessionManager.this.closeAll();
+            }
+        });
+
+        this.tabbedPane = new JTabbedPane();
+        this.tabbedPane.addTab(ADD_SESSION_TITLE, new JPanel());
+        this.tabbedPane.addChangeListener(event -> this.selectionChanged());
+        this.frame.add(this.tabbedPane, BorderLayout.CENTER);
+
+        this.frame.setSize(800, 600);
+        this.frame.setLocationRelativeTo(null);
+
+        this.idleTimer = new Timer(IDLE_CHECK_DELAY, event -> this.suspendIdleSessions());
+        this.idleTimer.start();
+    }
+
+    public void addSession() {
+        ZooKeeperBrowserMain zooKeeperBrowserMain = new ZooKeeperBrowserMain();
+
+        // every session has its own cache and tree, switching between sessions does not reload anything
+        zooKeeperBrowserMain.setMetricsRegistry(this.metricsRegistry);
+        CachingNodeProvider cachingNodeProvider = new CachingNodeProvider(zooKeeperBrowserMain, CACHE_SIZE, CACHE_TIME_TO_LIVE);
+
+        ZooKeeperBrowserViewer viewer = new ZooKeeperBrowserViewer(this.frame);
+        zooKeeperBrowserMain.setOperationListener(viewer);
+        // the cache has to be cleared before the viewer reloads the tree of a new session
+        zooKeeperBrowserMain.setConnectionStateListener(() -> {
+            cachingNodeProvider.connectionStateChanged();
+            viewer.connectionStateChanged();
+        });
+        this.metricsRegistry.addCache(cachingNodeProvider);
+
+        viewer.setMetricsRegistry(this.metricsRegistry);
+        viewer.setNodeProvider(cachingNodeProvider);
+        cachingNodeProvider.addNodeChangeListener(viewer);
+
+        Session session = new Session(viewer, cachingNodeProvider, zooKeeperBrowserMain);
+        this.sessions.add(session);
+        viewer.setSessionNodeProviders(() -> this.getConnectedNodeProviders(session));
+        viewer.setTitleListener(host -> SwingUtilities.invokeLater(() -> this.updateTitle(session, host)));
+
+        int index = this.tabbedPane.getTabCount() - 1;
+        this.updatingTabs = true;
+        try {
+            this.tabbedPane.insertTab(NEW_SESSION_TITLE, null, viewer.getComponent(), null, index);
+            this.tabbedPane.setTabComponentAt(index, session.getTabComponent());
+        } finally {
+            this.updatingTabs = false;
+        }
+
+        this.tabbedPane.setSelectedIndex(index);
+        this.selectionChanged();
+    }
+
+    public void show() {
+        this.frame.setVisible(true);
+    }
+
+    public void uncaughtException(Thread thread, Throwable throwable) {
+        SwingUtilities.invokeLater(
+            () -> JOptionPane.showMessageDialog(this.frame, throwable.toString(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void closeAll() {
+        this.idleTimer.stop();
+
+        for (Session eachSession : this.sessions) {
+            eachSession.close();
+        }
+        this.sessions.clear();
+    }
+
+    private void closeSession(Session session) {
+        if (this.sessions.size() == 1) {
+            this.frame.dispose();
+            return;
+        }
+
+        int index = this.sessions.indexOf(session);
+        this.updatingTabs = true;
+        try {
+            this.sessions.remove(index);
+            this.tabbedPane.removeTabAt(index);
+        } finally {
+            this.updatingTabs = false;
+        }
+        session.close();
+
+        this.tabbedPane.setSelectedIndex(Math.min(index, this.sessions.size() - 1));
+        this.selectionChanged();
+    }
+
+    private Map<String, NodeProvider> getConnectedNodeProviders(Session session) {
+        // comparisons read whole subtrees once, so they get the providers without the cache of the tree
+        Map<String, NodeProvider> result = new LinkedHashMap<>();
+        result.put(session.getNodeProvider().getZookeeperHost(), session.getUncachedNodeProvider());
+
+        for (Session eachSession : this.sessions) {
+            NodeProvider nodeProvider = eachSession.getUncachedNodeProvider();
+            if (nodeProvider.getConnectionState() == ConnectionState.CONNECTED) {
+                result.putIfAbsent(nodeProvider.getZookeeperHost(), nodeProvider);
+            }
+        }
+
+        return result;
+    }
+
+    private String getFrameTitle(String host) {
+        if (host == null) {
+            return BASE_TITLE;
+        }
+
+        return BASE_TITLE + " - " + host;
+    }
+
+    private void selectionChanged() {
+        if (this.updatingTabs) {
+            return;
+        }
+
+        int selectedIndex = this.tabbedPane.getSelectedIndex();
+        if (selectedIndex == this.tabbedPane.getTabCount() - 1) {
+            if (!this.sessions.isEmpty()) {
+                this.addSession();
+            }
+            return;
+        }
+
+        Session session = this.sessions.get(selectedIndex);
+        if (session == this.selectedSession) {
+            return;
+        }
+
+        if (this.selectedSession != null) {
+            this.selectedSession.touch();
+        }
+
+        this.selectedSession = session;
+        this.selectedSession.touch();
+        this.selectedSession.getViewer().resume();
+        this.frame.setTitle(this.getFrameTitle(this.selectedSession.getHost()));
+    }
+
+    private void suspendIdleSessions() {
+        long now = System.currentTimeMillis();
+
+        for (Session eachSession : this.sessions) {
+            if (eachSession == this.selectedSession || eachSession.getViewer().isBusy()) {
+                continue;
+            }
+
+            if (now - eachSession.getLastUsed() > SESSION_IDLE_TIMEOUT) {
+                eachSession.getViewer().suspend();
+            }
+        }
+    }
+
+    private void updateTitle(Session session, String host) {
+        session.setHost(host);
+
+        if (session == this.selectedSession) {
+            this.frame.setTitle(this.getFrameTitle(host));
+        }
+    }
+
+    private class Session {
+
+        private final ZooKeeperBrowserViewer viewer;
+        private final CachingNodeProvider nodeProvider;
+        private final ZooKeeperBrowserMain zooKeeperBrowserMain;
+        private final JPanel tabComponent;
+        private final JLabel lblTitle;
+        private String host;
+        private long lastUsed = System.currentTimeMillis();
+
+        public Session(ZooKeeperBrowserViewer viewer, CachingNodeProvider nodeProvider, ZooKeeperBrowserMain zooKeeperBrowserMain) {
+            super();
+
+            this.viewer = viewer;
+            this.nodeProvider = nodeProvider;
+            this.zooKeeperBrowserMain = zooKeeperBrowserMain;
+
+            this.tabComponent = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+            this.tabComponent.setOpaque(false);
+
+            this.lblTitle = new JLabel(NEW_SESSION_TITLE);
+            this.tabComponent.add(this.lblTitle);
+
+            JButton btnClose = new JButton("x");
+            btnClose.setMargin(new Insets(0, 2, 0, 2));
+            btnClose.setBorderPainted(false);
+            btnClose.setContentAreaFilled(false);
+            btnClose.addActionListener(event -> SessionManager.this.closeSession(this));
+            this.tabComponent.add(btnClose);
+        }
+
+        public void close() {
+            this.viewer.disconnect();
+            SessionManager.this.metricsRegistry.removeCache(this.nodeProvider);
+            this.zooKeeperBrowserMain.close();
+        }
+
+        public String getHost() {
+            return this.host;
+        }
+
+        public long getLastUsed() {
+            // a completed operation counts as using the session, even while it was in the background
+            return Math.max(this.lastUsed, this.viewer.getLastOperationCompleted());
+        }
+
+        public CachingNodeProvider getNodeProvider() {
+            return this.nodeProvider;
+        }
+
+        public JPanel getTabComponent() {
+            return this.tabComponent;
+        }
+
+        public NodeProvider getUncachedNodeProvider() {
+            return this.zooKeeperBrowserMain;
+        }
+
+        public ZooKeeperBrowserViewer getViewer() {
+            return this.viewer;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+            this.lblTitle.setText(host == null ? NEW_SESSION_TITLE : host);
+        }
+
+        public void touch() {
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static com.indoqa.zookeeper.browser.SnapshotWriter.END;
+import static com.indoqa.zookeeper.browser.SnapshotWriter.MAGIC;
+import static com.indoqa.zookeeper.browser.SnapshotWriter.RECORD;
+import static com.indoqa.zookeeper.browser.SnapshotWriter.VERSION;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Id;
+import org.apache.zookeeper.data.Stat;
+
+public class SnapshotReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataInputStream inputStream;
+    private final String rootPath;
+
+    public SnapshotReader(Path file) throws IOException {
+        super();
+
+        InputStream fileInputStream = new BufferedInputStream(Channels.newInputStream(FileChannel.open(file, READ)), BUFFER_SIZE);
+        if (isCompressed(fileInputStream)) {
+            fileInputStream = new BufferedInputStream(new GZIPInputStream(fileInputStream, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        this.inputStream = new DataInputStream(fileInputStream);
+
+        if (this.inputStream.readInt() != MAGIC) {
+            this.inputStream.close();
+            throw new ZooKeeperBrowserException("The file " + file + " is not a ZooKeeper snapshot.");
+        }
+
+        int version = this.inputStream.readInt();
+        if (version != VERSION) {
+            this.inputStream.close();
+            throw new ZooKeeperBrowserException("The snapshot version " + version + " of " + file + " is not supported.");
+        }
+
+        this.rootPath = this.inputStream.readUTF();
+    }
+
+    private static boolean isCompressed(InputStream inputStream) throws IOException {
+        inputStream.mark(2);
+        int magic = inputStream.read() | inputStream.read() << 8;
+        inputStream.reset();
+
+        return magic == GZIPInputStream.GZIP_MAGIC;
+    }
+
+    private static Stat readStat(DataInput input) throws IOException {
+        Stat result = new Stat();
+
+        result.setCzxid(input.readLong());
+        result.setMzxid(input.readLong());
+        result.setCtime(input.readLong());
+        result.setMtime(input.readLong());
+        result.setVersion(input.readInt());
+        result.setCversion(input.readInt());
+        result.setAversion(input.readInt());
+        result.setEphemeralOwner(input.readLong());
+        result.setDataLength(input.readInt());
+        result.setNumChildren(input.readInt());
+        result.setPzxid(input.readLong());
+
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.inputStream.close();
+    }
+
+    public String getRootPath() {
+        return this.rootPath;
+    }
+
+    public NodeRecord read() throws IOException {
+        byte type = this.inputStream.readByte();
+        if (type == END) {
+            return null;
+        }
+        if (type != RECORD) {
+            throw new ZooKeeperBrowserException("Unexpected record type " + type + " in snapshot.");
+        }
+
+        NodeRecord result = NodeRecord.withPath(this.inputStream.readUTF());
+        result.setStat(readStat(this.inputStream));
+
+        int aclCount = this.inputStream.readInt();
+        List<ACL> acl = new ArrayList<>(aclCount);
+        for (int i = 0; i < aclCount; i++) {
+            int perms = this.inputStream.readInt();
+            String scheme = this.inputStream.readUTF();
+            String id = this.inputStream.readUTF();
+            acl.add(new ACL(perms, new Id(scheme, id)));
+        }
+        result.setAcl(acl);
+
+        int dataLength = this.inputStream.readInt();
+        if (dataLength >= 0) {
+            byte[] data = new byte[dataLength];
+            this.inputStream.readFully(data);
+            result.setData(data);
+        }
+
+        return result;
+    }
+}
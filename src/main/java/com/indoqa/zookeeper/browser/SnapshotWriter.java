@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Stat;
+
+public class SnapshotWriter implements NodeVisitor, Closeable {
+
+    public static final int MAGIC = 0x5A4B534E;
+    public static final int VERSION = 1;
+
+    public static final byte RECORD = 1;
+    public static final byte END = 0;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String rootPath;
+    private final DataOutputStream outputStream;
+    private long count;
+
+    public SnapshotWriter(Path file, String rootPath, boolean compressed) throws IOException {
+        super();
+
+        this.rootPath = rootPath;
+
+        OutputStream fileOutputStream = Channels.newOutputStream(FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING));
+        if (compressed) {
+            fileOutputStream = new GZIPOutputStream(fileOutputStream, BUFFER_SIZE);
+        }
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE));
+
+        this.outputStream.writeInt(MAGIC);
+        this.outputStream.writeInt(VERSION);
+        this.outputStream.writeUTF(rootPath);
+    }
+
+    private static void writeStat(DataOutput output, Stat stat) throws IOException {
+        output.writeLong(stat.getCzxid());
+        output.writeLong(stat.getMzxid());
+        output.writeLong(stat.getCtime());
+        output.writeLong(stat.getMtime());
+        output.writeInt(stat.getVersion());
+        output.writeInt(stat.getCversion());
+        output.writeInt(stat.getAversion());
+        output.writeLong(stat.getEphemeralOwner());
+        output.writeInt(stat.getDataLength());
+        output.writeInt(stat.getNumChildren());
+        output.writeLong(stat.getPzxid());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.outputStream.close();
+    }
+
+    public void finish() throws IOException {
+        // only a completely written snapshot gets the end marker, readers reject everything else as truncated
+        this.outputStream.writeByte(END);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    @Override
+    public void visit(NodeRecord nodeRecord) throws IOException {
+        this.outputStream.writeByte(RECORD);
+        this.outputStream.writeUTF(this.getRelativePath(nodeRecord.getPath()));
+
+        writeStat(this.outputStream, nodeRecord.getStat());
+
+        if (nodeRecord.getAcl() == null) {
+            this.outputStream.writeInt(0);
+        } else {
+            this.outputStream.writeInt(nodeRecord.getAcl().size());
+            for (ACL eachAcl : nodeRecord.getAcl()) {
+                this.outputStream.writeInt(eachAcl.getPerms());
+                this.outputStream.writeUTF(eachAcl.getId().getScheme());
+                this.outputStream.writeUTF(eachAcl.getId().getId());
+            }
+        }
+
+        if (nodeRecord.getData() == null) {
+            this.outputStream.writeInt(-1);
+        } else {
+            this.outputStream.writeInt(nodeRecord.getData().length);
+            this.outputStream.write(nodeRecord.getData());
+        }
+
+        this.count++;
+    }
+
+    private String getRelativePath(String path) {
+        if ("/".equals(this.rootPath)) {
+            return "/".equals(path) ? "" : path;
+        }
+
+        return path.substring(this.rootPath.length());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooKeeper;
+
+public class SubtreeAnalyzer {
+
+    private final ZooKeeper zooKeeper;
+    private final SubtreeSizes subtreeSizes;
+    private final int maxPendingRequests;
+
+    private BooleanSupplier cancelled = () -> false;
+    private ProgressListener progressListener = (completed, total) -> {
+        // do nothing
+    };
+
+    public SubtreeAnalyzer(ZooKeeper zooKeeper, SubtreeSizes subtreeSizes, int maxPendingRequests) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.subtreeSizes = subtreeSizes;
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    public long analyze(String path) throws KeeperException, InterruptedException, IOException {
+        NodePath rootPath = NodePath.parse(path);
+        this.subtreeSizes.removeSubtree(rootPath);
+
+        SubtreeWalker subtreeWalker = new SubtreeWalker(this.zooKeeper, this.maxPendingRequests);
+        subtreeWalker.setCancelled(this.cancelled);
+
+        long[] count = new long[1];
+        subtreeWalker.walk(path, nodeRecord -> {
+            // the sizes of all ancestors grow while walking, so partial results are already meaningful
+            this.subtreeSizes.add(rootPath, NodePath.parse(nodeRecord.getPath()), nodeRecord.getStat());
+
+            if (++count[0] % 100 == 0) {
+                this.progressListener.progress(count[0], 0);
+            }
+        });
+
+        return count[0];
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.ZooKeeper;
+
+public class SubtreeDeleter {
+
+    private static final int MAX_BATCH_OPERATIONS = 1_000;
+    private static final int OPERATION_OVERHEAD = 32;
+    private static final int MAX_DELETE_ATTEMPTS = 10;
+
+    private final ZooKeeper zooKeeper;
+    private final int maxPendingRequests;
+    private final int maxPendingBatches;
+    private final int maxBatchSize;
+
+    private BooleanSupplier cancelled = () -> false;
+    private ProgressListener progressListener = (completed, total) -> {
+        // ignore
+    };
+
+    private final AtomicLong completed = new AtomicLong();
+    private long total;
+
+    public SubtreeDeleter(ZooKeeper zooKeeper, int maxPendingRequests, int maxPendingBatches) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.maxPendingRequests = maxPendingRequests;
+        this.maxPendingBatches = maxPendingBatches;
+        // stay well below the server's request size limit
+        this.maxBatchSize = Integer.getInteger("jute.maxbuffer", 0xfffff) / 2;
+    }
+
+    private static int getDepth(String path) {
+        if ("/".equals(path)) {
+            return 0;
+        }
+
+        int result = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    public long delete(String path) throws KeeperException, InterruptedException, IOException {
+        List<List<String>> levels = this.discover(path);
+
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            this.deleteLevel(levels.get(i));
+        }
+
+        return this.completed.get();
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private void checkCancelled() {
+        if (this.cancelled.getAsBoolean()) {
+            throw new CancellationException(
+                "Deleting was cancelled after " + this.completed.get() + " of " + this.total + " nodes.");
+        }
+    }
+
+    private void deleteLevel(List<String> paths) throws KeeperException, InterruptedException, IOException {
+        Semaphore pendingBatches = new Semaphore(this.maxPendingBatches);
+        List<List<String>> failedBatches = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            for (List<String> eachBatch : this.split(paths)) {
+                this.checkCancelled();
+                pendingBatches.acquire();
+
+                List<Op> operations = new ArrayList<>(eachBatch.size());
+                for (String eachPath : eachBatch) {
+                    operations.add(Op.delete(eachPath, -1));
+                }
+
+                this.zooKeeper.multi(operations, (rc, responsePath, ctx, opResults) -> {
+                    try {
+                        if (rc == Code.OK.intValue()) {
+                            this.reportCompleted(eachBatch.size());
+                        } else {
+                            failedBatches.add(eachBatch);
+                        }
+                    } finally {
+                        pendingBatches.release();
+                    }
+                }, null);
+            }
+        } finally {
+            pendingBatches.acquire(this.maxPendingBatches);
+        }
+
+        // a failed transaction is rolled back completely, so retry its nodes one by one
+        for (List<String> eachBatch : failedBatches) {
+            for (String eachPath : eachBatch) {
+                this.checkCancelled();
+                this.deleteSingle(eachPath);
+            }
+        }
+    }
+
+    private void deleteSingle(String path) throws KeeperException, InterruptedException, IOException {
+        for (int i = 0; i < MAX_DELETE_ATTEMPTS; i++) {
+            try {
+                this.zooKeeper.delete(path, -1);
+                this.reportCompleted(1);
+                return;
+            } catch (KeeperException.NoNodeException e) {
+                this.reportCompleted(1);
+                return;
+            } catch (KeeperException.NotEmptyException e) {
+                // children were created concurrently
+                SubtreeDeleter subtreeDeleter = new SubtreeDeleter(this.zooKeeper, this.maxPendingRequests, this.maxPendingBatches);
+                subtreeDeleter.setCancelled(this.cancelled);
+                subtreeDeleter.delete(path);
+            }
+        }
+
+        throw new ZooKeeperBrowserException("Could not delete node '" + path + "' after " + MAX_DELETE_ATTEMPTS + " attempts.");
+    }
+
+    private List<List<String>> discover(String path) throws KeeperException, InterruptedException, IOException {
+        int rootDepth = getDepth(path);
+        List<List<String>> result = new ArrayList<>();
+
+        SubtreeWalker subtreeWalker = new SubtreeWalker(this.zooKeeper, this.maxPendingRequests);
+        subtreeWalker.setCancelled(this.cancelled);
+        subtreeWalker.walk(path, nodeRecord -> {
+            if ("/".equals(nodeRecord.getPath())) {
+                return;
+            }
+
+            int depth = getDepth(nodeRecord.getPath()) - rootDepth;
+            while (result.size() <= depth) {
+                result.add(new ArrayList<>());
+            }
+            result.get(depth).add(nodeRecord.getPath());
+
+            this.total++;
+            if (this.total % 1_000 == 0) {
+                this.progressListener.progress(this.total, 0);
+            }
+        });
+
+        return result;
+    }
+
+    private void reportCompleted(int count) {
+        this.progressListener.progress(this.completed.addAndGet(count), this.total);
+    }
+
+    private List<List<String>> split(List<String> paths) {
+        List<List<String>> result = new ArrayList<>();
+
+        List<String> batch = new ArrayList<>();
+        int batchSize = 0;
+        for (String eachPath : paths) {
+            int size = eachPath.getBytes(StandardCharsets.UTF_8).length + OPERATION_OVERHEAD;
+
+            if (!batch.isEmpty() && (batch.size() >= MAX_BATCH_OPERATIONS || batchSize + size > this.maxBatchSize)) {
+                result.add(batch);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+
+            batch.add(eachPath);
+            batchSize += size;
+        }
+
+        if (!batch.isEmpty()) {
+            result.add(batch);
+        }
+
+        return result;
+    }
+}
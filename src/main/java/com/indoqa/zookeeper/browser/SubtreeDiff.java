@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.apache.zookeeper.KeeperException;
+
+public class SubtreeDiff {
+
+    private static final int MAX_STATS_BATCH_SIZE = 1_000;
+    private static final int MAX_PENDING_COMPARISONS = 16;
+
+    private final NodeProvider left;
+    private final NodeProvider right;
+    private final Executor executor;
+
+    private BooleanSupplier cancelled = () -> false;
+    private ProgressListener progressListener = (completed, total) -> {
+        // do nothing
+    };
+    private long comparedNodes;
+
+    public SubtreeDiff(NodeProvider left, NodeProvider right, Executor executor) {
+        super();
+
+        this.left = left;
+        this.right = right;
+        this.executor = executor;
+    }
+
+    private static boolean exists(NodeDetails nodeDetails) {
+        return nodeDetails.getCreated() != null;
+    }
+
+    static String getPath(String rootPath, String relativePath) {
+        if (relativePath.isEmpty()) {
+            return rootPath;
+        }
+
+        return ZooKeeperBrowserMain.join(rootPath, relativePath.substring(1));
+    }
+
+    private static boolean hasChildren(NodeDetails nodeDetails) {
+        return nodeDetails.getChildren() != null && nodeDetails.getChildren() > 0;
+    }
+
+    private static boolean isNoNode(ZooKeeperBrowserException exception) {
+        return exception.getCause() instanceof KeeperException.NoNodeException;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new ZooKeeperBrowserException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static Level loadLevel(NodeProvider nodeProvider, String path) {
+        try {
+            ZooKeeperTreeNode node = nodeProvider.getNode(path);
+            String[] childNames = nodeProvider.getChildNames(node);
+            return new Level(node, childNames);
+        } catch (ZooKeeperBrowserException e) {
+            if (isNoNode(e)) {
+                // deleted while comparing
+                return null;
+            }
+
+            throw e;
+        }
+    }
+
+    private static List<NodeDetails> loadStats(NodeProvider nodeProvider, ZooKeeperTreeNode node, List<String> childNames) {
+        List<NodeDetails> result = new ArrayList<>(childNames.size());
+
+        String[] names = childNames.toArray(new String[childNames.size()]);
+        for (int offset = 0; offset < names.length; offset += MAX_STATS_BATCH_SIZE) {
+            int count = Math.min(MAX_STATS_BATCH_SIZE, names.length - offset);
+            for (ZooKeeperTreeNode eachChild : nodeProvider.getChildren(node, names, offset, count)) {
+                result.add(eachChild.getNodeDetails());
+            }
+        }
+
+        return result;
+    }
+
+    public long diff(String leftRootPath, String rightRootPath, DiffListener listener) {
+        Deque<String> pendingPaths = new ArrayDeque<>();
+        pendingPaths.push("");
+        this.comparedNodes = 0;
+
+        while (!pendingPaths.isEmpty()) {
+            if (this.cancelled.getAsBoolean()) {
+                throw new CancellationException("Comparing '" + leftRootPath + "' with '" + rightRootPath + "' was cancelled.");
+            }
+
+            String relativePath = pendingPaths.pop();
+            String leftPath = getPath(leftRootPath, relativePath);
+            String rightPath = getPath(rightRootPath, relativePath);
+
+            List<Level> levels = this.both(() -> loadLevel(this.left, leftPath), () -> loadLevel(this.right, rightPath));
+            Level leftLevel = levels.get(0);
+            Level rightLevel = levels.get(1);
+
+            if (leftLevel == null || rightLevel == null) {
+                if (relativePath.isEmpty()) {
+                    String missingPath = leftLevel == null ? leftPath : rightPath;
+                    throw new ZooKeeperBrowserException("Node '" + missingPath + "' does not exist.");
+                }
+
+                // deleted after its parent was compared
+                if (leftLevel != null) {
+                    listener.nodeDiffers(relativePath, DiffType.REMOVED, leftLevel.getNodeDetails(), null);
+                } else if (rightLevel != null) {
+                    listener.nodeDiffers(relativePath, DiffType.ADDED, null, rightLevel.getNodeDetails());
+                }
+                continue;
+            }
+
+            if (relativePath.isEmpty()) {
+                this.compareData(
+                    Collections.singletonList(relativePath),
+                    Collections.singletonList(leftLevel.getNodeDetails()),
+                    Collections.singletonList(rightLevel.getNodeDetails()),
+                    listener);
+            }
+
+            this.compareChildren(relativePath, leftLevel, rightLevel, pendingPaths, listener);
+        }
+
+        return this.comparedNodes;
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private <T> List<T> both(Supplier<T> leftSupplier, Supplier<T> rightSupplier) {
+        // both sides are read at the same time
+        CompletableFuture<T> rightResult = CompletableFuture.supplyAsync(rightSupplier, this.executor);
+        T leftResult = leftSupplier.get();
+        return Arrays.asList(leftResult, join(rightResult));
+    }
+
+    private void compareChildren(String relativePath, Level leftLevel, Level rightLevel, Deque<String> pendingPaths,
+            DiffListener listener) {
+        String[] leftNames = leftLevel.getChildNames();
+        String[] rightNames = rightLevel.getChildNames();
+
+        List<String> removedNames = new ArrayList<>();
+        List<String> addedNames = new ArrayList<>();
+        List<String> commonNames = new ArrayList<>();
+
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < leftNames.length || rightIndex < rightNames.length) {
+            int comparison;
+            if (leftIndex == leftNames.length) {
+                comparison = 1;
+            } else if (rightIndex == rightNames.length) {
+                comparison = -1;
+            } else {
+                comparison = leftNames[leftIndex].compareTo(rightNames[rightIndex]);
+            }
+
+            if (comparison < 0) {
+                removedNames.add(leftNames[leftIndex++]);
+            } else if (comparison > 0) {
+                addedNames.add(rightNames[rightIndex++]);
+            } else {
+                commonNames.add(leftNames[leftIndex++]);
+                rightIndex++;
+            }
+        }
+
+        // only the stats of children that exist on one side are needed, common children are compared when visited
+        for (NodeDetails eachNodeDetails : loadStats(this.left, leftLevel.getNode(), removedNames)) {
+            listener.nodeDiffers(
+                relativePath + "/" + eachNodeDetails.getName(),
+                DiffType.REMOVED,
+                eachNodeDetails,
+                null);
+        }
+        for (NodeDetails eachNodeDetails : loadStats(this.right, rightLevel.getNode(), addedNames)) {
+            listener.nodeDiffers(
+                relativePath + "/" + eachNodeDetails.getName(),
+                DiffType.ADDED,
+                null,
+                eachNodeDetails);
+        }
+
+        // common children are compared by their stats first, only children with children of their own are visited
+        List<List<NodeDetails>> commonStats = this.both(
+            () -> loadStats(this.left, leftLevel.getNode(), commonNames),
+            () -> loadStats(this.right, rightLevel.getNode(), commonNames));
+        List<NodeDetails> leftStats = commonStats.get(0);
+        List<NodeDetails> rightStats = commonStats.get(1);
+
+        List<String> relativePaths = new ArrayList<>(commonNames.size());
+        for (String eachName : commonNames) {
+            relativePaths.add(relativePath + "/" + eachName);
+        }
+        this.compareData(relativePaths, leftStats, rightStats, listener);
+
+        for (int i = commonNames.size() - 1; i >= 0; i--) {
+            if (hasChildren(leftStats.get(i)) || hasChildren(rightStats.get(i))) {
+                pendingPaths.push(relativePath + "/" + commonNames.get(i));
+            }
+        }
+    }
+
+    private void compareData(List<String> relativePaths, List<NodeDetails> leftStats, List<NodeDetails> rightStats,
+            DiffListener listener) {
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < relativePaths.size(); i++) {
+            NodeDetails leftNodeDetails = leftStats.get(i);
+            NodeDetails rightNodeDetails = rightStats.get(i);
+
+            if (++this.comparedNodes % 100 == 0) {
+                this.progressListener.progress(this.comparedNodes, 0);
+            }
+
+            if (!exists(leftNodeDetails) || !exists(rightNodeDetails)) {
+                // deleted while comparing
+                if (exists(leftNodeDetails)) {
+                    listener.nodeDiffers(relativePaths.get(i), DiffType.REMOVED, leftNodeDetails, null);
+                } else if (exists(rightNodeDetails)) {
+                    listener.nodeDiffers(relativePaths.get(i), DiffType.ADDED, null, rightNodeDetails);
+                }
+            } else if (leftNodeDetails.getDataLength() != rightNodeDetails.getDataLength()) {
+                listener.nodeDiffers(relativePaths.get(i), DiffType.CHANGED, leftNodeDetails, rightNodeDetails);
+            } else if (leftNodeDetails.getDataLength() > 0) {
+                candidates.add(i);
+            }
+        }
+
+        // ZooKeeper offers no checksums, payloads of equal length are fetched and compared, a bounded number at a time
+        for (int offset = 0; offset < candidates.size(); offset += MAX_PENDING_COMPARISONS) {
+            List<CompletableFuture<Boolean>> comparisons = new ArrayList<>();
+
+            int end = Math.min(offset + MAX_PENDING_COMPARISONS, candidates.size());
+            for (int i = offset; i < end; i++) {
+                String leftPath = leftStats.get(candidates.get(i)).getPath();
+                String rightPath = rightStats.get(candidates.get(i)).getPath();
+                comparisons.add(
+                    CompletableFuture.supplyAsync(
+                        () -> !Arrays.equals(this.left.getContent(leftPath), this.right.getContent(rightPath)),
+                        this.executor));
+            }
+
+            for (int i = offset; i < end; i++) {
+                if (join(comparisons.get(i - offset))) {
+                    int index = candidates.get(i);
+                    listener.nodeDiffers(relativePaths.get(index), DiffType.CHANGED, leftStats.get(index), rightStats.get(index));
+                }
+            }
+        }
+    }
+
+    private static class Level {
+
+        private final ZooKeeperTreeNode node;
+        private final String[] childNames;
+
+        public Level(ZooKeeperTreeNode node, String[] childNames) {
+            super();
+
+            this.node = node;
+            this.childNames = childNames;
+        }
+
+        public String[] getChildNames() {
+            return this.childNames;
+        }
+
+        public ZooKeeperTreeNode getNode() {
+            return this.node;
+        }
+
+        public NodeDetails getNodeDetails() {
+            return this.node.getNodeDetails();
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+
+public class SubtreeDiffDialog {
+
+    private static final int MAX_DIFF_ENTRIES = Integer.getInteger("zookeeper-browser.max-diff-entries", 10_000);
+    private static final int MAX_LINE_DIFF_CELLS = 1_000_000;
+    private static final int UPDATE_DELAY = 100;
+    private static final int DIFF_THREADS = Integer.getInteger("zookeeper-browser.diff-threads", 4);
+    private static final int MAX_QUEUED_TASKS = 64;
+
+    private final NodeProvider left;
+    private final String leftPath;
+    private final NodeProvider right;
+    private final String rightPath;
+    private final ExecutorService executor = createExecutor();
+
+    private final JDialog dialog;
+    private final DiffTreeNode rootNode = new DiffTreeNode("/");
+    private final DefaultTreeModel treeModel = new DefaultTreeModel(this.rootNode);
+    private final JTree tree = new JTree(this.treeModel);
+    private final JTextArea txtDiff = new JTextArea();
+    private final JLabel lblStatus = new JLabel();
+    private final Timer updateTimer;
+
+    private final Map<String, DiffTreeNode> nodes = new HashMap<>();
+    private final Queue<Difference> pendingDifferences = new ConcurrentLinkedQueue<>();
+    private final AtomicLong differences = new AtomicLong();
+    private final AtomicLong comparedNodes = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile String result;
+
+    public SubtreeDiffDialog(JFrame frame, NodeProvider left, String leftPath, NodeProvider right, String rightPath) {
+        super();
+
+        this.left = left;
+        this.leftPath = leftPath;
+        this.right = right;
+        this.rightPath = rightPath;
+
+        this.nodes.put("", this.rootNode);
+
+        this.tree.setCellRenderer(new DiffTreeNodeRenderer());
+        this.tree.addTreeSelectionListener(event -> this.showDifference());
+        this.txtDiff.setEditable(false);
+        this.txtDiff.setFont(new Font(Font.MONOSPACED, Font.PLAIN, this.txtDiff.getFont().getSize()));
+
+        JSplitPane splitPane = new JSplitPane(
+            JSplitPane.HORIZONTAL_SPLIT,
+            new JScrollPane(this.tree),
+            new JScrollPane(this.txtDiff));
+        splitPane.setDividerLocation(350);
+
+        this.dialog = new JDialog(
+            frame,
+            "Compare " + left.getZookeeperHost() + leftPath + " with " + right.getZookeeperHost() + rightPath,
+            false);
+        this.dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        this.dialog.add(splitPane, BorderLayout.CENTER);
+        this.dialog.add(this.lblStatus, BorderLayout.SOUTH);
+        this.dialog.setSize(900, 600);
+        this.dialog.setLocationRelativeTo(frame);
+
+        this.updateTimer = new Timer(UPDATE_DELAY, event -> this.update());
+        this.dialog.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                SubtreeDiffDialog.this.cancelled = true;
+                SubtreeDiffDialog.this.updateTimer.stop();
+                // queued tasks still complete, so the comparison never waits for a task that is not run
+                SubtreeDiffDialog.this.executor.shutdown();
+            }
+        });
+    }
+
+    private static void appendLines(StringBuilder stringBuilder, String prefix, String[] lines, int start, int end) {
+        for (int i = start; i < end; i++) {
+            stringBuilder.append(prefix).append(lines[i]).append('\n');
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        // the comparison blocks one thread while it waits for the payloads loaded by the others,
+        // so it must not share the I/O executor of the viewer
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            DIFF_THREADS,
+            DIFF_THREADS,
+            0,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_TASKS),
+            runnable -> {
+                Thread thread = new Thread(runnable, "zookeeper-browser-diff-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    private static String diffContent(byte[] leftContent, byte[] rightContent) {
+        if (ContentListModel.isBinary(leftContent) || ContentListModel.isBinary(rightContent)) {
+            return "Binary content differs: " + leftContent.length + " bytes / " + rightContent.length + " bytes\n";
+        }
+
+        return diffLines(new String(leftContent, UTF_8).split("\n", -1), new String(rightContent, UTF_8).split("\n", -1));
+    }
+
+    private static String diffLines(String[] leftLines, String[] rightLines) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        int start = 0;
+        while (start < leftLines.length && start < rightLines.length && leftLines[start].equals(rightLines[start])) {
+            start++;
+        }
+
+        int leftEnd = leftLines.length;
+        int rightEnd = rightLines.length;
+        while (leftEnd > start && rightEnd > start && leftLines[leftEnd - 1].equals(rightLines[rightEnd - 1])) {
+            leftEnd--;
+            rightEnd--;
+        }
+
+        for (int i = 0; i < start; i++) {
+            stringBuilder.append("  ").append(leftLines[i]).append('\n');
+        }
+
+        int leftCount = leftEnd - start;
+        int rightCount = rightEnd - start;
+        if ((long) leftCount * rightCount > MAX_LINE_DIFF_CELLS) {
+            // too large for a longest common subsequence, the differing block is shown as a whole
+            appendLines(stringBuilder, "- ", leftLines, start, leftEnd);
+            appendLines(stringBuilder, "+ ", rightLines, start, rightEnd);
+        } else {
+            int[][] lengths = new int[leftCount + 1][rightCount + 1];
+            for (int i = leftCount - 1; i >= 0; i--) {
+                for (int j = rightCount - 1; j >= 0; j--) {
+                    if (leftLines[start + i].equals(rightLines[start + j])) {
+                        lengths[i][j] = lengths[i + 1][j + 1] + 1;
+                    } else {
+                        lengths[i][j] = Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+                    }
+                }
+            }
+
+            int i = 0;
+            int j = 0;
+            while (i < leftCount || j < rightCount) {
+                if (i < leftCount && j < rightCount && leftLines[start + i].equals(rightLines[start + j])) {
+                    stringBuilder.append("  ").append(leftLines[start + i]).append('\n');
+                    i++;
+                    j++;
+                } else if (j == rightCount || i < leftCount && lengths[i + 1][j] >= lengths[i][j + 1]) {
+                    stringBuilder.append("- ").append(leftLines[start + i]).append('\n');
+                    i++;
+                } else {
+                    stringBuilder.append("+ ").append(rightLines[start + j]).append('\n');
+                    j++;
+                }
+            }
+        }
+
+        for (int i = leftEnd; i < leftLines.length; i++) {
+            stringBuilder.append("  ").append(leftLines[i]).append('\n');
+        }
+
+        return stringBuilder.toString();
+    }
+
+    private static String getParentPath(String relativePath) {
+        return relativePath.substring(0, relativePath.lastIndexOf('/'));
+    }
+
+    public void addWindowListener(WindowListener listener) {
+        this.dialog.addWindowListener(listener);
+    }
+
+    public void show() {
+        this.dialog.setVisible(true);
+        this.updateTimer.start();
+        this.executor.execute(this::compare);
+    }
+
+    private void compare() {
+        SubtreeDiff subtreeDiff = new SubtreeDiff(this.left, this.right, this.executor);
+        subtreeDiff.setCancelled(() -> this.cancelled);
+        subtreeDiff.setProgressListener((completed, total) -> this.comparedNodes.set(completed));
+
+        try {
+            long compared = subtreeDiff.diff(this.leftPath, this.rightPath, (relativePath, diffType, leftDetails, rightDetails) -> {
+                // the tree only keeps a bounded number of differences, the rest is counted
+                if (this.differences.incrementAndGet() <= MAX_DIFF_ENTRIES) {
+                    this.pendingDifferences.add(new Difference(relativePath, diffType, leftDetails, rightDetails));
+                }
+            });
+
+            this.comparedNodes.set(compared);
+            this.result = "completed";
+        } catch (CancellationException e) {
+            this.result = "cancelled";
+        } catch (Exception e) {
+            this.result = "failed: " + e.getMessage();
+        }
+    }
+
+    private DiffTreeNode getNode(String relativePath) {
+        DiffTreeNode result = this.nodes.get(relativePath);
+        if (result != null) {
+            return result;
+        }
+
+        DiffTreeNode parent = this.getNode(getParentPath(relativePath));
+        result = new DiffTreeNode(relativePath);
+        this.treeModel.insertNodeInto(result, parent, parent.getChildCount());
+        this.nodes.put(relativePath, result);
+        return result;
+    }
+
+    private void showDifference() {
+        TreePath selectionPath = this.tree.getSelectionPath();
+        if (selectionPath == null) {
+            this.txtDiff.setText(null);
+            return;
+        }
+
+        DiffTreeNode node = (DiffTreeNode) selectionPath.getLastPathComponent();
+        if (node.getDiffType() == null) {
+            this.txtDiff.setText(null);
+            return;
+        }
+
+        String relativePath = node == this.rootNode ? "" : node.getZooKeeperPath();
+        String leftNodePath = SubtreeDiff.getPath(this.leftPath, relativePath);
+        String rightNodePath = SubtreeDiff.getPath(this.rightPath, relativePath);
+
+        CompletableFuture<byte[]> leftContent = CompletableFuture.completedFuture(new byte[0]);
+        if (node.getDiffType() != DiffType.ADDED) {
+            leftContent = CompletableFuture.supplyAsync(() -> this.left.getContent(leftNodePath), this.executor);
+        }
+        CompletableFuture<byte[]> rightContent = CompletableFuture.completedFuture(new byte[0]);
+        if (node.getDiffType() != DiffType.REMOVED) {
+            rightContent = CompletableFuture.supplyAsync(() -> this.right.getContent(rightNodePath), this.executor);
+        }
+
+        leftContent.thenCombine(rightContent, (leftBytes, rightBytes) -> {
+            String header = "--- " + this.left.getZookeeperHost() + leftNodePath + "\n"
+                + "+++ " + this.right.getZookeeperHost() + rightNodePath + "\n";
+            return header + diffContent(leftBytes == null ? new byte[0] : leftBytes, rightBytes == null ? new byte[0] : rightBytes);
+        }).whenComplete((text, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (this.tree.getSelectionPath() == null || this.tree.getSelectionPath().getLastPathComponent() != node) {
+                return;
+            }
+
+            this.txtDiff.setText(throwable == null ? text : throwable.getMessage());
+            this.txtDiff.setCaretPosition(0);
+        }));
+    }
+
+    private void update() {
+        boolean changed = false;
+
+        Difference difference;
+        while ((difference = this.pendingDifferences.poll()) != null) {
+            DiffTreeNode node = this.getNode(difference.getRelativePath());
+            node.setDiff(difference.getDiffType(), difference.getLeft(), difference.getRight());
+            this.treeModel.nodeChanged(node);
+            changed = true;
+        }
+
+        if (changed && this.rootNode.getChildCount() > 0) {
+            this.tree.expandRow(0);
+        }
+
+        long currentDifferences = this.differences.get();
+        StringBuilder status = new StringBuilder();
+        status.append(this.comparedNodes.get()).append(" nodes compared, ").append(currentDifferences).append(" differences");
+        if (currentDifferences > MAX_DIFF_ENTRIES) {
+            status.append(" (").append(MAX_DIFF_ENTRIES).append(" shown)");
+        }
+        status.append(this.result == null ? ", comparing ..." : ", " + this.result);
+        this.lblStatus.setText(status.toString());
+
+        if (this.result != null && this.pendingDifferences.isEmpty()) {
+            this.updateTimer.stop();
+        }
+    }
+
+    private static class DiffTreeNodeRenderer extends DefaultTreeCellRenderer {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Component getTreeCellRendererComponent(JTree tree, Object value, boolean sel, boolean expanded, boolean leaf,
+                int row, boolean hasFocus) {
+            DiffTreeNode node = (DiffTreeNode) value;
+
+            String label = node.getPathName().isEmpty() ? "/" : node.getPathName();
+            if (node.getDiffType() == DiffType.ADDED) {
+                label = "+ " + label + " (" + ZooKeeperTreeNodeRenderer.formatSize(node.getRight().getDataLength()) + ")";
+            } else if (node.getDiffType() == DiffType.REMOVED) {
+                label = "- " + label + " (" + ZooKeeperTreeNodeRenderer.formatSize(node.getLeft().getDataLength()) + ")";
+            } else if (node.getDiffType() == DiffType.CHANGED) {
+                label = "~ " + label + " (" + ZooKeeperTreeNodeRenderer.formatSize(node.getLeft().getDataLength()) + " / "
+                    + ZooKeeperTreeNodeRenderer.formatSize(node.getRight().getDataLength()) + ")";
+            }
+
+            return super.getTreeCellRendererComponent(tree, label, sel, expanded, leaf, row, hasFocus);
+        }
+    }
+
+    private static class Difference {
+
+        private final String relativePath;
+        private final DiffType diffType;
+        private final NodeDetails left;
+        private final NodeDetails right;
+
+        public Difference(String relativePath, DiffType diffType, NodeDetails left, NodeDetails right) {
+            super();
+
+            this.relativePath = relativePath;
+            this.diffType = diffType;
+            this.left = left;
+            this.right = right;
+        }
+
+        public DiffType getDiffType() {
+            return this.diffType;
+        }
+
+        public NodeDetails getLeft() {
+            return this.left;
+        }
+
+        public String getRelativePath() {
+            return this.relativePath;
+        }
+
+        public NodeDetails getRight() {
+            return this.right;
+        }
+    }
+}
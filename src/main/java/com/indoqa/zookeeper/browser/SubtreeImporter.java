@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.ACL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SubtreeImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubtreeImporter.class);
+
+    private static final int MAX_BATCH_OPERATIONS = 1_000;
+    private static final int OPERATION_OVERHEAD = 64;
+    private static final String SYSTEM_PATH = "/zookeeper";
+
+    private final ZooKeeper zooKeeper;
+    private final int maxPendingBatches;
+    private final int maxBatchSize;
+
+    private ConflictPolicy conflictPolicy = ConflictPolicy.SKIP;
+    private BooleanSupplier cancelled = () -> false;
+    private ProgressListener progressListener = (completed, total) -> {
+        // ignore
+    };
+
+    private long completed;
+
+    public SubtreeImporter(ZooKeeper zooKeeper, int maxPendingBatches) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.maxPendingBatches = maxPendingBatches;
+        // stay well below the server's request size limit
+        this.maxBatchSize = Integer.getInteger("jute.maxbuffer", 0xfffff) / 2;
+    }
+
+    private static List<ACL> getAcl(NodeRecord nodeRecord) {
+        if (nodeRecord.getAcl() == null || nodeRecord.getAcl().isEmpty()) {
+            return ZooDefs.Ids.OPEN_ACL_UNSAFE;
+        }
+
+        return nodeRecord.getAcl();
+    }
+
+    private static int getSize(NodeRecord nodeRecord) {
+        int result = nodeRecord.getPath().getBytes(StandardCharsets.UTF_8).length + OPERATION_OVERHEAD;
+
+        if (nodeRecord.getData() != null) {
+            result += nodeRecord.getData().length;
+        }
+
+        for (ACL eachAcl : getAcl(nodeRecord)) {
+            result += eachAcl.getId().getScheme().length() + eachAcl.getId().getId().length() + OPERATION_OVERHEAD;
+        }
+
+        return result;
+    }
+
+    private static String getTargetPath(String targetPath, String relativePath) {
+        if (relativePath.isEmpty()) {
+            return targetPath;
+        }
+
+        if ("/".equals(targetPath)) {
+            return relativePath;
+        }
+
+        return targetPath + relativePath;
+    }
+
+    private static boolean isSystemPath(String path) {
+        return "/".equals(path) || SYSTEM_PATH.equals(path) || path.startsWith(SYSTEM_PATH + "/");
+    }
+
+    public long importSubtree(SnapshotReader snapshotReader, String targetPath)
+            throws KeeperException, InterruptedException, IOException {
+        Deque<Batch> pendingBatches = new ArrayDeque<>();
+        Batch batch = new Batch();
+        boolean ensembleSnapshot = "/".equals(snapshotReader.getRootPath());
+
+        NodeRecord nodeRecord;
+        while ((nodeRecord = snapshotReader.read()) != null) {
+            if (nodeRecord.getStat().getEphemeralOwner() != 0) {
+                LOGGER.debug("Skipping ephemeral node {}", nodeRecord.getPath());
+                continue;
+            }
+
+            // the root and /zookeeper of a snapshot of the whole ensemble are skipped wherever it is imported to, the root
+            // would otherwise replace the target node itself
+            String relativePath = nodeRecord.getPath();
+            if (ensembleSnapshot && (relativePath.isEmpty() || isSystemPath(relativePath))) {
+                continue;
+            }
+
+            nodeRecord.setPath(getTargetPath(targetPath, relativePath));
+            if (isSystemPath(nodeRecord.getPath())) {
+                continue;
+            }
+
+            int size = getSize(nodeRecord);
+            if (!batch.isEmpty() && (batch.getCount() >= MAX_BATCH_OPERATIONS || batch.getSize() + size > this.maxBatchSize)) {
+                this.submit(batch, pendingBatches);
+                batch = new Batch();
+            }
+
+            batch.add(nodeRecord, size);
+        }
+
+        if (!batch.isEmpty()) {
+            this.submit(batch, pendingBatches);
+        }
+
+        while (!pendingBatches.isEmpty()) {
+            this.complete(pendingBatches.poll());
+        }
+
+        return this.completed;
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setConflictPolicy(ConflictPolicy conflictPolicy) {
+        this.conflictPolicy = conflictPolicy;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private void complete(Batch batch) throws KeeperException, InterruptedException {
+        batch.await();
+
+        if (batch.getCode() != Code.OK) {
+            // the transaction was rolled back, so apply its nodes one by one and resolve conflicts
+            for (NodeRecord eachNodeRecord : batch.getNodeRecords()) {
+                this.importSingle(eachNodeRecord);
+            }
+        }
+
+        this.completed += batch.getCount();
+        this.progressListener.progress(this.completed, 0);
+    }
+
+    private void importSingle(NodeRecord nodeRecord) throws KeeperException, InterruptedException {
+        try {
+            this.zooKeeper.create(nodeRecord.getPath(), nodeRecord.getData(), getAcl(nodeRecord), CreateMode.PERSISTENT);
+        } catch (KeeperException.NodeExistsException e) {
+            switch (this.conflictPolicy) {
+                case OVERWRITE:
+                    this.zooKeeper.setData(nodeRecord.getPath(), nodeRecord.getData(), -1);
+                    this.zooKeeper.setACL(nodeRecord.getPath(), getAcl(nodeRecord), -1);
+                    break;
+
+                case FAIL:
+                    throw new ZooKeeperBrowserException("The node '" + nodeRecord.getPath() + "' already exists.", e);
+
+                default:
+                    break;
+            }
+        } catch (KeeperException.NoNodeException e) {
+            LOGGER.warn("Could not import {}, because its parent does not exist.", nodeRecord.getPath());
+        }
+    }
+
+    private void submit(Batch batch, Deque<Batch> pendingBatches) throws KeeperException, InterruptedException {
+        if (this.cancelled.getAsBoolean()) {
+            throw new CancellationException("Importing was cancelled after " + this.completed + " nodes.");
+        }
+
+        // batches are completed in submission order, so parents always exist before their children are retried
+        while (pendingBatches.size() >= this.maxPendingBatches) {
+            this.complete(pendingBatches.poll());
+        }
+
+        List<Op> operations = new ArrayList<>(batch.getCount());
+        for (NodeRecord eachNodeRecord : batch.getNodeRecords()) {
+            operations.add(
+                Op.create(eachNodeRecord.getPath(), eachNodeRecord.getData(), getAcl(eachNodeRecord), CreateMode.PERSISTENT));
+        }
+
+        this.zooKeeper.multi(operations, (rc, path, ctx, opResults) -> batch.completed(Code.get(rc)), null);
+        pendingBatches.add(batch);
+    }
+
+    private static class Batch {
+
+        private final List<NodeRecord> nodeRecords = new ArrayList<>();
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private int size;
+        private volatile Code code;
+
+        public void add(NodeRecord nodeRecord, int nodeSize) {
+            this.nodeRecords.add(nodeRecord);
+            this.size += nodeSize;
+        }
+
+        public void await() throws InterruptedException {
+            this.completion.await();
+        }
+
+        public void completed(Code resultCode) {
+            this.code = resultCode;
+            this.completion.countDown();
+        }
+
+        public Code getCode() {
+            return this.code;
+        }
+
+        public int getCount() {
+            return this.nodeRecords.size();
+        }
+
+        public List<NodeRecord> getNodeRecords() {
+            return this.nodeRecords;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+
+        public boolean isEmpty() {
+            return this.nodeRecords.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import org.apache.zookeeper.data.Stat;
+
+public class SubtreeSize {
+
+    private final NodePath path;
+
+    // written by the analyzing thread only, read by the UI while the analysis is running
+    private volatile long bytes;
+    private volatile long nodes;
+    private volatile long ephemerals;
+    private volatile int maxDataLength;
+    private volatile int maxChildren;
+
+    public SubtreeSize(NodePath path) {
+        super();
+
+        this.path = path;
+    }
+
+    public void add(Stat stat) {
+        this.bytes += stat.getDataLength();
+        this.nodes++;
+
+        if (stat.getEphemeralOwner() != 0) {
+            this.ephemerals++;
+        }
+        if (stat.getDataLength() > this.maxDataLength) {
+            this.maxDataLength = stat.getDataLength();
+        }
+        if (stat.getNumChildren() > this.maxChildren) {
+            this.maxChildren = stat.getNumChildren();
+        }
+    }
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    public long getEphemerals() {
+        return this.ephemerals;
+    }
+
+    public int getMaxChildren() {
+        return this.maxChildren;
+    }
+
+    public int getMaxDataLength() {
+        return this.maxDataLength;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public String getPath() {
+        return this.path.toString();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import javax.swing.table.AbstractTableModel;
+
+public class SubtreeSizeTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMN_NAMES = {
+        "Path", "Bytes", "Size", "Znodes", "Ephemerals", "Largest Znode", "Most Children"};
+
+    private final IntFunction<List<SubtreeSize>> heaviestSubtrees;
+    private final int maxRows;
+    private List<SubtreeSize> rows = new ArrayList<>();
+
+    public SubtreeSizeTableModel(IntFunction<List<SubtreeSize>> heaviestSubtrees, int maxRows) {
+        super();
+
+        this.heaviestSubtrees = heaviestSubtrees;
+        this.maxRows = maxRows;
+        this.refresh();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 || columnIndex == 2 ? String.class : Long.class;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    public String getPath(int rowIndex) {
+        return this.rows.get(rowIndex).getPath();
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    public List<SubtreeSize> getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        SubtreeSize subtreeSize = this.rows.get(rowIndex);
+
+        switch (columnIndex) {
+            case 0:
+                return subtreeSize.getPath();
+            case 1:
+                return subtreeSize.getBytes();
+            case 2:
+                return ZooKeeperTreeNodeRenderer.formatSize(subtreeSize.getBytes());
+            case 3:
+                return subtreeSize.getNodes();
+            case 4:
+                return subtreeSize.getEphemerals();
+            case 5:
+                return (long) subtreeSize.getMaxDataLength();
+            case 6:
+                return (long) subtreeSize.getMaxChildren();
+            default:
+                return null;
+        }
+    }
+
+    public void refresh() {
+        this.rows = this.heaviestSubtrees.apply(this.maxRows);
+        this.fireTableDataChanged();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.zookeeper.data.Stat;
+
+public class SubtreeSizes {
+
+    private static final Comparator<SubtreeSize> BY_BYTES = Comparator.comparingLong(SubtreeSize::getBytes);
+
+    // keyed by the node paths of the tree, so the renderer can look up sizes without building path strings
+    private final Map<NodePath, SubtreeSize> sizes = new ConcurrentHashMap<>();
+
+    public void add(NodePath rootPath, NodePath path, Stat stat) {
+        NodePath currentPath = path;
+
+        // leaves below the direct children of the root get no entry of their own, they are most of the znodes of a large
+        // subtree and their size is the data length shown in the tree anyway
+        if (stat.getNumChildren() == 0 && !path.equals(rootPath) && !rootPath.equals(path.getParent())) {
+            currentPath = path.getParent();
+        }
+
+        while (true) {
+            this.sizes.computeIfAbsent(currentPath, SubtreeSize::new).add(stat);
+
+            if (currentPath.equals(rootPath)) {
+                return;
+            }
+
+            currentPath = currentPath.getParent();
+        }
+    }
+
+    public void clear() {
+        this.sizes.clear();
+    }
+
+    public SubtreeSize get(NodePath path) {
+        return this.sizes.get(path);
+    }
+
+    public List<SubtreeSize> getHeaviest(int maxResults) {
+        PriorityQueue<SubtreeSize> heaviest = new PriorityQueue<>(maxResults + 1, BY_BYTES);
+
+        for (SubtreeSize eachSize : this.sizes.values()) {
+            heaviest.add(eachSize);
+
+            if (heaviest.size() > maxResults) {
+                heaviest.poll();
+            }
+        }
+
+        List<SubtreeSize> result = new ArrayList<>(heaviest);
+        Collections.sort(result, BY_BYTES.reversed());
+        return result;
+    }
+
+    public void removeSubtree(NodePath rootPath) {
+        this.sizes.keySet().removeIf(eachPath -> eachPath.startsWith(rootPath));
+    }
+}
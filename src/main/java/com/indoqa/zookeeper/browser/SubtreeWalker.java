@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.ZooKeeper;
+
+public class SubtreeWalker {
+
+    private final ZooKeeper zooKeeper;
+    private final int maxPendingRequests;
+
+    private BooleanSupplier cancelled = () -> false;
+    private boolean fetchData;
+    private boolean fetchAcl;
+    private boolean watch;
+
+    public SubtreeWalker(ZooKeeper zooKeeper, int maxPendingRequests) {
+        super();
+
+        this.zooKeeper = zooKeeper;
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    public void setCancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public void setFetchAcl(boolean fetchAcl) {
+        this.fetchAcl = fetchAcl;
+    }
+
+    public void setFetchData(boolean fetchData) {
+        this.fetchData = fetchData;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public void walk(String path, NodeVisitor visitor) throws KeeperException, InterruptedException, IOException {
+        Deque<String> pendingPaths = new ArrayDeque<>();
+        pendingPaths.push(path);
+
+        BlockingQueue<Response> responses = new LinkedBlockingQueue<>();
+        int pendingRequests = 0;
+
+        while (!pendingPaths.isEmpty() || pendingRequests > 0) {
+            if (this.cancelled.getAsBoolean()) {
+                throw new CancellationException("Walking '" + path + "' was cancelled.");
+            }
+
+            while (pendingRequests < this.maxPendingRequests && !pendingPaths.isEmpty()) {
+                this.request(pendingPaths.pop(), responses);
+                pendingRequests++;
+            }
+
+            Response response = responses.take();
+            pendingRequests--;
+
+            if (response.getCode() == Code.NONODE && !response.getNodeRecord().getPath().equals(path)) {
+                // deleted while walking
+                continue;
+            }
+            if (response.getCode() != Code.OK) {
+                throw KeeperException.create(response.getCode(), response.getNodeRecord().getPath());
+            }
+
+            NodeRecord nodeRecord = response.getNodeRecord();
+            visitor.visit(nodeRecord);
+
+            for (String eachChild : nodeRecord.getChildren()) {
+                pendingPaths.push(ZooKeeperBrowserMain.join(nodeRecord.getPath(), eachChild));
+            }
+        }
+    }
+
+    private void request(String path, BlockingQueue<Response> responses) {
+        int requests = 1 + (this.fetchData ? 1 : 0) + (this.fetchAcl ? 1 : 0);
+        PendingNode pendingNode = new PendingNode(NodeRecord.withPath(path), requests);
+
+        // all requests of a node are pipelined and answered in order
+        this.zooKeeper.getChildren(path, this.watch, (rc, responsePath, ctx, children, stat) -> {
+            pendingNode.getNodeRecord().setChildren(children);
+            pendingNode.getNodeRecord().setStat(stat);
+            pendingNode.completed(rc, responses);
+        }, null);
+
+        if (this.fetchData) {
+            this.zooKeeper.getData(path, this.watch, (rc, responsePath, ctx, data, stat) -> {
+                pendingNode.getNodeRecord().setData(data);
+                pendingNode.completed(rc, responses);
+            }, null);
+        }
+
+        if (this.fetchAcl) {
+            this.zooKeeper.getACL(path, null, (rc, responsePath, ctx, acl, stat) -> {
+                pendingNode.getNodeRecord().setAcl(acl);
+                pendingNode.completed(rc, responses);
+            }, null);
+        }
+    }
+
+    private static class PendingNode {
+
+        private final NodeRecord nodeRecord;
+        private int remainingResponses;
+        private Code code = Code.OK;
+
+        public PendingNode(NodeRecord nodeRecord, int remainingResponses) {
+            super();
+
+            this.nodeRecord = nodeRecord;
+            this.remainingResponses = remainingResponses;
+        }
+
+        public synchronized void completed(int rc, BlockingQueue<Response> responses) {
+            if (this.code == Code.OK) {
+                this.code = Code.get(rc);
+            }
+
+            this.remainingResponses--;
+            if (this.remainingResponses == 0) {
+                responses.add(new Response(this.nodeRecord, this.code));
+            }
+        }
+
+        public NodeRecord getNodeRecord() {
+            return this.nodeRecord;
+        }
+    }
+
+    private static class Response {
+
+        private final NodeRecord nodeRecord;
+        private final Code code;
+
+        public Response(NodeRecord nodeRecord, Code code) {
+            super();
+
+            this.nodeRecord = nodeRecord;
+            this.code = code;
+        }
+
+        public Code getCode() {
+            return this.code;
+        }
+
+        public NodeRecord getNodeRecord() {
+            return this.nodeRecord;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TreeCacheStore {
+
+    public static final int MAGIC = 0x5A4B5443;
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    public TreeCacheStore(Path directory) {
+        super();
+
+        this.directory = directory;
+    }
+
+    private static NodeDetails readNodeDetails(DataInput input, NodePath path) throws IOException {
+        NodeDetails result = NodeDetails.withPath(path);
+
+        if (!input.readBoolean()) {
+            return result;
+        }
+
+        result.setChildren(input.readInt());
+        result.setVersion(input.readInt());
+        result.setCversion(input.readInt());
+        result.setCreated(new Date(input.readLong()));
+        result.setModified(new Date(input.readLong()));
+        result.setDataLength(input.readInt());
+        result.setEphemeral(input.readBoolean());
+        result.setMzxid(input.readLong());
+        result.setPzxid(input.readLong());
+
+        return result;
+    }
+
+    private static void writeNodeDetails(DataOutput output, NodeDetails nodeDetails) throws IOException {
+        if (nodeDetails.getChildren() == null || nodeDetails.getCreated() == null) {
+            output.writeBoolean(false);
+            return;
+        }
+
+        output.writeBoolean(true);
+        output.writeInt(nodeDetails.getChildren());
+        output.writeInt(nodeDetails.getVersion());
+        output.writeInt(nodeDetails.getCversion());
+        output.writeLong(nodeDetails.getCreated().getTime());
+        output.writeLong(nodeDetails.getModified().getTime());
+        output.writeInt(nodeDetails.getDataLength());
+        output.writeBoolean(nodeDetails.isEphemeral());
+        output.writeLong(nodeDetails.getMzxid());
+        output.writeLong(nodeDetails.getPzxid());
+    }
+
+    public void delete(String host) throws IOException {
+        Files.deleteIfExists(this.getFile(host));
+    }
+
+    public CachedTree read(String host) throws IOException {
+        Path file = this.getFile(host);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                // caches written by other versions are simply rebuilt from scratch
+                return null;
+            }
+
+            int expandedPathCount = input.readInt();
+            Set<String> expandedPaths = new TreeSet<>();
+            for (int i = 0; i < expandedPathCount; i++) {
+                expandedPaths.add(input.readUTF());
+            }
+
+            Map<String, byte[]> payloads = new HashMap<>();
+            ZooKeeperTreeNode root = this.readNode(input, null, payloads);
+
+            return new CachedTree(root, expandedPaths, payloads);
+        }
+    }
+
+    public byte[] serialize(ZooKeeperTreeNode root, Set<String> expandedPaths, Map<String, byte[]> payloads) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(BUFFER_SIZE);
+
+        try (DataOutputStream output = new DataOutputStream(result)) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+
+            output.writeInt(expandedPaths.size());
+            for (String eachPath : expandedPaths) {
+                output.writeUTF(eachPath);
+            }
+
+            this.writeNode(output, root, payloads);
+        }
+
+        return result.toByteArray();
+    }
+
+    public void write(String host, byte[] snapshot) throws IOException {
+        Path file = this.getFile(host);
+        Files.createDirectories(file.getParent());
+
+        Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, snapshot);
+
+            // readers must never see a partially written cache
+            Files.move(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private Path getFile(String host) throws UnsupportedEncodingException {
+        return this.directory.resolve(URLEncoder.encode(host, StandardCharsets.UTF_8.name()) + ".bin");
+    }
+
+    private ZooKeeperTreeNode readNode(DataInput input, NodePath parentPath, Map<String, byte[]> payloads) throws IOException {
+        String name = input.readUTF();
+        NodePath path = parentPath == null ? NodePath.parse(name) : parentPath.getChild(name);
+        ZooKeeperTreeNode result = new ZooKeeperTreeNode(readNodeDetails(input, path));
+
+        int payloadLength = input.readInt();
+        if (payloadLength >= 0) {
+            byte[] payload = new byte[payloadLength];
+            input.readFully(payload);
+            payloads.put(path.toString(), payload);
+        }
+
+        int childNameCount = input.readInt();
+        if (childNameCount < 0) {
+            return result;
+        }
+
+        String[] childNames = new String[childNameCount];
+        for (int i = 0; i < childNameCount; i++) {
+            childNames[i] = input.readUTF();
+        }
+        int childOffset = input.readInt();
+        result.setChildNames(childNames, childOffset);
+
+        int loadedChildCount = input.readInt();
+        if (childOffset > 0) {
+            result.add(MoreChildrenTreeNode.previous(childOffset));
+        }
+        for (int i = 0; i < loadedChildCount; i++) {
+            result.add(this.readNode(input, path, payloads));
+        }
+        if (childOffset + loadedChildCount < childNameCount) {
+            result.add(MoreChildrenTreeNode.next(childNameCount - childOffset - loadedChildCount));
+        }
+
+        return result;
+    }
+
+    private void writeNode(DataOutput output, ZooKeeperTreeNode node, Map<String, byte[]> payloads) throws IOException {
+        String path = node.getZooKeeperPath();
+        output.writeUTF(node.getParent() == null ? path : node.getPathName());
+        writeNodeDetails(output, node.getNodeDetails());
+
+        byte[] payload = payloads.get(path);
+        if (payload == null) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(payload.length);
+            output.write(payload);
+        }
+
+        String[] childNames = node.getChildNames();
+        if (childNames == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(childNames.length);
+        for (String eachChildName : childNames) {
+            output.writeUTF(eachChildName);
+        }
+        output.writeInt(node.getChildOffset());
+
+        List<ZooKeeperTreeNode> loadedChildren = node.getLoadedChildren();
+        output.writeInt(loadedChildren.size());
+        for (ZooKeeperTreeNode eachChild : loadedChildren) {
+            this.writeNode(output, eachChild, payloads);
+        }
+    }
+}
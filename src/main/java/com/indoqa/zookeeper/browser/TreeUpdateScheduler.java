@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.swing.Timer;
+import javax.swing.tree.TreeNode;
+
+public class TreeUpdateScheduler {
+
+    private static final int FRAME_DELAY = Integer.getInteger("zookeeper-browser.frame-delay", 40);
+    private static final long FRAME_BUDGET = TimeUnit.MILLISECONDS.toNanos(Long.getLong("zookeeper-browser.frame-budget", 8));
+
+    private final Supplier<ZooKeeperTreeModel> treeModel;
+    private final Runnable frameCompleted;
+    private final Timer timer;
+
+    private final Set<ZooKeeperTreeNode> changedNodes = new LinkedHashSet<>();
+
+    public TreeUpdateScheduler(Supplier<ZooKeeperTreeModel> treeModel, Runnable frameCompleted) {
+        super();
+
+        this.treeModel = treeModel;
+        this.frameCompleted = frameCompleted;
+
+        this.timer = new Timer(FRAME_DELAY, event -> this.flush());
+        this.timer.setRepeats(false);
+    }
+
+    private static int[] getChangedIndices(TreeNode parent, Set<ZooKeeperTreeNode> changedChildren) {
+        int[] result = new int[changedChildren.size()];
+        int count = 0;
+
+        // one pass over the children instead of an indexOf for every changed child
+        for (int i = 0; i < parent.getChildCount() && count < result.length; i++) {
+            if (changedChildren.contains(parent.getChildAt(i))) {
+                result[count++] = i;
+            }
+        }
+
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static boolean isAttached(ZooKeeperTreeNode node, ZooKeeperTreeModel model) {
+        TreeNode current = node;
+
+        while (current.getParent() != null) {
+            current = current.getParent();
+        }
+
+        return current == model.getRoot();
+    }
+
+    public void nodeChanged(ZooKeeperTreeNode node) {
+        this.nodesChanged(Collections.singletonList(node));
+    }
+
+    public void nodesChanged(Collection<ZooKeeperTreeNode> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+
+        synchronized (this.changedNodes) {
+            this.changedNodes.addAll(nodes);
+        }
+
+        if (!this.timer.isRunning()) {
+            this.timer.start();
+        }
+    }
+
+    private void flush() {
+        long deadline = System.nanoTime() + FRAME_BUDGET;
+
+        List<ZooKeeperTreeNode> nodes;
+        synchronized (this.changedNodes) {
+            nodes = new ArrayList<>(this.changedNodes);
+            this.changedNodes.clear();
+        }
+
+        ZooKeeperTreeModel model = this.treeModel.get();
+        if (model == null) {
+            return;
+        }
+
+        Map<TreeNode, Set<ZooKeeperTreeNode>> changedChildren = new LinkedHashMap<>();
+        Set<ZooKeeperTreeNode> visitedNodes = new HashSet<>();
+        boolean rootChanged = false;
+
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            if (!isAttached(eachNode, model)) {
+                continue;
+            }
+
+            // ancestors are shared by most changed nodes, each of them is reported only once
+            ZooKeeperTreeNode node = eachNode;
+            while (node != null && visitedNodes.add(node)) {
+                if (node.getParent() == null) {
+                    rootChanged = true;
+                } else {
+                    changedChildren.computeIfAbsent(node.getParent(), key -> new HashSet<>()).add(node);
+                }
+
+                node = (ZooKeeperTreeNode) node.getParent();
+            }
+        }
+
+        List<ZooKeeperTreeNode> postponedNodes = new ArrayList<>();
+        for (Map.Entry<TreeNode, Set<ZooKeeperTreeNode>> eachEntry : changedChildren.entrySet()) {
+            if (System.nanoTime() > deadline) {
+                postponedNodes.addAll(eachEntry.getValue());
+                continue;
+            }
+
+            int[] changedIndices = getChangedIndices(eachEntry.getKey(), eachEntry.getValue());
+            if (changedIndices.length > 0) {
+                model.nodesChanged(eachEntry.getKey(), changedIndices);
+            }
+        }
+
+        if (rootChanged) {
+            model.nodeChanged(model.getRoot());
+        }
+
+        this.frameCompleted.run();
+
+        if (!postponedNodes.isEmpty()) {
+            this.nodesChanged(postponedNodes);
+        }
+    }
+}
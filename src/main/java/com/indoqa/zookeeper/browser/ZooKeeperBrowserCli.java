@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.apache.zookeeper.data.Stat;
+
+public class ZooKeeperBrowserCli implements ConnectionStateListener {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_ERROR = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final long CONNECT_TIMEOUT = Long.getLong("zookeeper-browser.connect-timeout", 30_000);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final NodeProvider nodeProvider;
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public ZooKeeperBrowserCli(NodeProvider nodeProvider, OutputStream out, PrintStream err) {
+        super();
+
+        this.nodeProvider = nodeProvider;
+        this.out = new PrintStream(new BufferedOutputStream(out, BUFFER_SIZE), false);
+        this.err = err;
+    }
+
+    private static void appendJson(StringBuilder stringBuilder, String value) {
+        stringBuilder.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char eachChar = value.charAt(i);
+
+            switch (eachChar) {
+                case '"':
+                    stringBuilder.append("\\\"");
+                    break;
+
+                case '\\':
+                    stringBuilder.append("\\\\");
+                    break;
+
+                case '\n':
+                    stringBuilder.append("\\n");
+                    break;
+
+                case '\r':
+                    stringBuilder.append("\\r");
+                    break;
+
+                case '\t':
+                    stringBuilder.append("\\t");
+                    break;
+
+                default:
+                    if (eachChar < 0x20) {
+                        stringBuilder.append(String.format("\\u%04x", (int) eachChar));
+                    } else {
+                        stringBuilder.append(eachChar);
+                    }
+            }
+        }
+
+        stringBuilder.append('"');
+    }
+
+    private static String decodeText(byte[] data) {
+        if (ContentListModel.isBinary(data)) {
+            return null;
+        }
+
+        try {
+            return UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(data))
+                .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void connectionStateChanged() {
+        this.notifyAll();
+    }
+
+    public int run(String... args) {
+        if (args.length < 2) {
+            this.printUsage();
+            return EXIT_USAGE;
+        }
+
+        String command = args[1];
+        boolean recursive = false;
+        String path = "/";
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("-R")) {
+                recursive = true;
+            } else if (args[i].startsWith("/")) {
+                path = args[i];
+            } else {
+                this.printUsage();
+                return EXIT_USAGE;
+            }
+        }
+
+        try {
+            this.connect(args[0]);
+
+            switch (command) {
+                case "ls":
+                    this.list(path, recursive);
+                    break;
+
+                case "get":
+                    this.get(path);
+                    break;
+
+                case "stat":
+                    this.stat(path);
+                    break;
+
+                case "dump":
+                    this.dump(path);
+                    break;
+
+                case "du":
+                    this.diskUsage(path);
+                    break;
+
+                default:
+                    this.printUsage();
+                    return EXIT_USAGE;
+            }
+
+            this.out.flush();
+            if (this.out.checkError()) {
+                throw new ZooKeeperBrowserException("Could not write to the standard output.");
+            }
+
+            return EXIT_OK;
+        } catch (Exception e) {
+            this.out.flush();
+            this.err.println("Error: " + e.getMessage());
+            return EXIT_ERROR;
+        } finally {
+            this.nodeProvider.disconnect();
+        }
+    }
+
+    private void connect(String zookeeperHost) throws InterruptedException {
+        this.nodeProvider.connectTo(zookeeperHost);
+
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+        synchronized (this) {
+            while (this.nodeProvider.getConnectionState() != ConnectionState.CONNECTED) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new ZooKeeperBrowserException(
+                        "Could not connect to " + zookeeperHost + " within " + CONNECT_TIMEOUT + " ms.");
+                }
+
+                this.wait(remaining);
+            }
+        }
+    }
+
+    private void diskUsage(String path) {
+        this.nodeProvider.analyzeSubtree(path);
+
+        NodePath nodePath = NodePath.parse(path);
+        SubtreeSize total = this.nodeProvider.getSubtreeSize(nodePath);
+        if (total == null) {
+            throw new ZooKeeperBrowserException("Node '" + path + "' does not exist.");
+        }
+
+        for (String eachChildName : this.nodeProvider.getChildNames(this.nodeProvider.getNode(path))) {
+            SubtreeSize subtreeSize = this.nodeProvider.getSubtreeSize(nodePath.getChild(eachChildName));
+            if (subtreeSize != null) {
+                this.printSubtreeSize(subtreeSize);
+            }
+        }
+
+        this.printSubtreeSize(total);
+    }
+
+    private void dump(String path) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        this.nodeProvider.walkSubtree(path, true, nodeRecord -> {
+            Stat stat = nodeRecord.getStat();
+            byte[] data = nodeRecord.getData();
+
+            stringBuilder.setLength(0);
+            stringBuilder.append("{\"path\":");
+            appendJson(stringBuilder, nodeRecord.getPath());
+            stringBuilder.append(",\"version\":").append(stat.getVersion());
+            stringBuilder.append(",\"cversion\":").append(stat.getCversion());
+            stringBuilder.append(",\"ctime\":").append(stat.getCtime());
+            stringBuilder.append(",\"mtime\":").append(stat.getMtime());
+            stringBuilder.append(",\"ephemeralOwner\":").append(stat.getEphemeralOwner());
+            stringBuilder.append(",\"numChildren\":").append(stat.getNumChildren());
+
+            if (data == null) {
+                stringBuilder.append(",\"data\":null");
+            } else {
+                String text = decodeText(data);
+                if (text == null) {
+                    stringBuilder.append(",\"encoding\":\"base64\",\"data\":");
+                    appendJson(stringBuilder, Base64.getEncoder().encodeToString(data));
+                } else {
+                    stringBuilder.append(",\"encoding\":\"utf-8\",\"data\":");
+                    appendJson(stringBuilder, text);
+                }
+            }
+
+            stringBuilder.append('}');
+            this.out.println(stringBuilder);
+        });
+    }
+
+    private void get(String path) throws IOException {
+        byte[] content = this.nodeProvider.getContent(path);
+        if (content != null) {
+            this.out.write(content);
+        }
+    }
+
+    private void list(String path, boolean recursive) {
+        if (recursive) {
+            this.nodeProvider.walkSubtree(path, false, nodeRecord -> this.out.println(nodeRecord.getPath()));
+            return;
+        }
+
+        for (String eachChildName : this.nodeProvider.getChildNames(this.nodeProvider.getNode(path))) {
+            this.out.println(eachChildName);
+        }
+    }
+
+    private void printSubtreeSize(SubtreeSize subtreeSize) {
+        this.out.printf(
+            "%12d %10d %8d %s%n",
+            subtreeSize.getBytes(),
+            subtreeSize.getNodes(),
+            subtreeSize.getEphemerals(),
+            subtreeSize.getPath());
+    }
+
+    private void printUsage() {
+        this.err.println("Usage: zookeeper-browser <host:port> <command> [path]");
+        this.err.println();
+        this.err.println("Commands:");
+        this.err.println("  ls [-R] <path>   list the children of a node, -R lists the whole subtree");
+        this.err.println("  get <path>       write the content of a node");
+        this.err.println("  stat <path>      print the stat of a node");
+        this.err.println("  dump <path>      write the subtree as JSON lines, binary content is base64 encoded");
+        this.err.println("  du <path>        print bytes, znodes and ephemerals per child of a node");
+    }
+
+    private void stat(String path) {
+        ZooKeeperTreeNode node = this.nodeProvider.getNode(path);
+        this.nodeProvider.updateNodeStats(node);
+
+        NodeDetails nodeDetails = node.getNodeDetails();
+        if (nodeDetails.getCreated() == null) {
+            throw new ZooKeeperBrowserException("Node '" + path + "' does not exist.");
+        }
+
+        this.out.println("path: " + nodeDetails.getPath());
+        this.out.println("created: " + Instant.ofEpochMilli(nodeDetails.getCreated().getTime()));
+        this.out.println("modified: " + Instant.ofEpochMilli(nodeDetails.getModified().getTime()));
+        this.out.println("version: " + nodeDetails.getVersion());
+        this.out.println("cversion: " + nodeDetails.getCversion());
+        this.out.println("children: " + nodeDetails.getChildren());
+    }
+}
@@ -18,10 +18,14 @@ package com.indoqa.zookeeper.browser;
 
 import static com.indoqa.zookeeper.browser.ConnectionState.DISCONNECTED;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.zookeeper.*;
 import org.apache.zookeeper.Watcher.Event.EventType;
@@ -34,25 +38,84 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
     private static final int MAX_DELETE_ATTEMPTS = 10;
 
     private static final int DEFAULT_SESSION_TIMEOUT = 30000;
+    private static final int MAX_PENDING_REQUESTS = 100;
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    private static final int MAX_INDEXED_BYTES = Integer.getInteger("zookeeper-browser.max-indexed-bytes", 4096);
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ZooKeeperBrowserMain.class);
 
-    private ZooKeeperBrowserViewer viewer;
+    private OperationListener operationListener = new OperationListener() {
+
+        @Override
+        public void operationCompleted(Operation operation, String path) {
+            // do nothing
+        }
+
+        @Override
+        public void operationProgress(Operation operation, String path, long completed, long total) {
+            // do nothing
+        }
 
-    private ZooKeeper zooKeeper;
+        @Override
+        public void operationStarted(Operation operation, String path) {
+            // do nothing
+        }
+    };
+    private ConnectionStateListener connectionStateListener = () -> {
+        // do nothing
+    };
+    private MetricsRegistry metricsRegistry = new MetricsRegistry(null);
+
+    private ZooKeeperClient zooKeeper;
+    private PipelinedNodeLoader nodeLoader;
+    private SearchIndexer searchIndexer;
     private String zookeeperHost;
-    private ConnectionState connectionState = DISCONNECTED;
+    private volatile ConnectionState connectionState = DISCONNECTED;
+    private volatile boolean watching;
+
+    private final SearchIndex searchIndex = new SearchIndex(MAX_INDEXED_BYTES);
+    private final SubtreeSizes subtreeSizes = new SubtreeSizes();
+    private final List<NodeChangeListener> nodeChangeListeners = new CopyOnWriteArrayList<>();
+    private final List<CancellationToken> cancellationTokens = new CopyOnWriteArrayList<>();
+    private final List<ChangeFeed> changeFeeds = new CopyOnWriteArrayList<>();
+    private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "zookeeper-browser-events");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public ZooKeeperBrowserMain() {
-        this.viewer = new ZooKeeperBrowserViewer();
-        this.viewer.setNodeProvider(this);
+        super();
     }
 
     public static void main(String[] args) {
-        new ZooKeeperBrowserMain();
+        if (args.length > 0) {
+            ZooKeeperBrowserMain zooKeeperBrowserMain = new ZooKeeperBrowserMain();
+            ZooKeeperBrowserCli zooKeeperBrowserCli = new ZooKeeperBrowserCli(zooKeeperBrowserMain, System.out, System.err);
+            zooKeeperBrowserMain.setConnectionStateListener(zooKeeperBrowserCli);
+            System.exit(zooKeeperBrowserCli.run(args));
+        }
+
+        startViewer();
+    }
+
+    private static void deletePartialFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.error("Could not delete the incomplete snapshot {}", file, e);
+        }
     }
 
-    private static String join(String parentPath, String path) {
+    private static void startViewer() {
+        SessionManager sessionManager = new SessionManager(MetricsRegistry.withPlatformMBeanServer());
+        Thread.setDefaultUncaughtExceptionHandler(sessionManager::uncaughtException);
+        sessionManager.addSession();
+        sessionManager.show();
+    }
+
+    static String join(String parentPath, String path) {
         StringBuilder stringBuilder = new StringBuilder();
 
         stringBuilder.append(parentPath);
@@ -65,6 +128,73 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         return stringBuilder.toString();
     }
 
+    @Override
+    public void addNodeChangeListener(NodeChangeListener listener) {
+        this.nodeChangeListeners.add(listener);
+    }
+
+    @Override
+    public void analyzeSubtree(String path) {
+        this.operationListener.operationStarted(Operation.ANALYZE_SUBTREE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.ANALYZE_SUBTREE, path);
+
+        try {
+            SubtreeAnalyzer subtreeAnalyzer = new SubtreeAnalyzer(this.zooKeeper, this.subtreeSizes, MAX_PENDING_REQUESTS);
+            subtreeAnalyzer.setCancelled(cancellationToken);
+            subtreeAnalyzer.setProgressListener(
+                (completed, total) -> this.operationListener.operationProgress(Operation.ANALYZE_SUBTREE, path, completed, total));
+
+            long analyzed = subtreeAnalyzer.analyze(path);
+            LOGGER.info("Analyzed {} nodes below {}", analyzed, path);
+        } catch (CancellationException e) {
+            LOGGER.warn(e.getMessage());
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.ANALYZE_SUBTREE, path);
+        }
+    }
+
+    @Override
+    public void buildSearchIndex(String path) {
+        this.operationListener.operationStarted(Operation.INDEX_SUBTREE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.INDEX_SUBTREE, path);
+
+        try {
+            // a separate indexer keeps the cancellation of this crawl away from the watch driven updates
+            SearchIndexer subtreeIndexer = new SearchIndexer(this.zooKeeper, this.searchIndex, MAX_PENDING_REQUESTS);
+            subtreeIndexer.setCancelled(cancellationToken);
+            subtreeIndexer.setProgressListener(
+                (completed, total) -> this.operationListener.operationProgress(Operation.INDEX_SUBTREE, path, completed, total));
+
+            long indexed = subtreeIndexer.index(path);
+            LOGGER.info("Indexed {} nodes below {}, the search index contains {} nodes", indexed, path, this.searchIndex.size());
+        } catch (CancellationException e) {
+            LOGGER.warn(e.getMessage());
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.INDEX_SUBTREE, path);
+        }
+    }
+
+    @Override
+    public void cancelOperation(Operation operation, String path) {
+        for (CancellationToken eachCancellationToken : this.cancellationTokens) {
+            if (eachCancellationToken.isOperation(operation, path)) {
+                eachCancellationToken.cancel();
+            }
+        }
+    }
+
+    public void close() {
+        // only closed sessions stop the event thread, suspended sessions are disconnected and connect again
+        this.disconnect();
+        this.eventExecutor.shutdown();
+    }
+
     @Override
     public void connectTo(String host) {
         this.disconnect();
@@ -85,7 +215,7 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
 
     @Override
     public void deleteNode(String path) {
-        this.viewer.operationStarted(Operation.DELETE_NODE, path);
+        this.operationListener.operationStarted(Operation.DELETE_NODE, path);
 
         try {
             for (int i = 0; i < MAX_DELETE_ATTEMPTS; i++) {
@@ -101,18 +231,32 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
 
             throw new ZooKeeperBrowserException("Could not delete node '" + path + "' after " + MAX_DELETE_ATTEMPTS + " attempts.");
         } finally {
-            this.viewer.operationCompleted(Operation.DELETE_NODE, path);
+            this.operationListener.operationCompleted(Operation.DELETE_NODE, path);
         }
     }
 
     @Override
     public void deleteNodeRecursively(String path) {
-        this.viewer.operationStarted(Operation.DELETE_NODE, path);
+        this.operationListener.operationStarted(Operation.DELETE_NODE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.DELETE_NODE, path);
 
         try {
-            this.deleteRecursively(path);
+            SubtreeDeleter subtreeDeleter = new SubtreeDeleter(this.zooKeeper, MAX_PENDING_REQUESTS, MAX_PENDING_BATCHES);
+            subtreeDeleter.setCancelled(cancellationToken);
+            subtreeDeleter.setProgressListener(
+                (completed, total) -> this.operationListener.operationProgress(Operation.DELETE_NODE, path, completed, total));
+
+            long deleted = subtreeDeleter.delete(path);
+            LOGGER.info("Deleted {} nodes below {}", deleted, path);
+        } catch (CancellationException e) {
+            LOGGER.warn(e.getMessage());
+        } catch (ZooKeeperBrowserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
         } finally {
-            this.viewer.operationCompleted(Operation.DELETE_NODE, path);
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.DELETE_NODE, path);
         }
     }
 
@@ -126,8 +270,13 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         this.setConnectionState(ConnectionState.DISCONNECTING);
 
         try {
+            this.closeChangeFeeds();
             this.zooKeeper.close();
             this.zooKeeper = null;
+            this.nodeLoader = null;
+            this.searchIndexer = null;
+            this.searchIndex.clear();
+            this.subtreeSizes.clear();
             this.setConnectionState(ConnectionState.DISCONNECTED);
         } catch (Exception e) {
             LOGGER.error("Could not close ZooKeeper client.", e);
@@ -137,31 +286,79 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
     }
 
     @Override
-    public List<ZooKeeperTreeNode> getChildren(ZooKeeperTreeNode node, int maxCount) {
-        this.viewer.operationStarted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
+    public void exportSubtree(String path, Path file) {
+        this.operationListener.operationStarted(Operation.EXPORT_SUBTREE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.EXPORT_SUBTREE, path);
+
+        boolean compressed = file.getFileName().toString().endsWith(".gz");
+        boolean finished = false;
+        try (SnapshotWriter snapshotWriter = new SnapshotWriter(file, path, compressed)) {
+            SubtreeWalker subtreeWalker = new SubtreeWalker(this.zooKeeper, MAX_PENDING_REQUESTS);
+            subtreeWalker.setFetchData(true);
+            subtreeWalker.setFetchAcl(true);
+            subtreeWalker.setCancelled(cancellationToken);
+
+            subtreeWalker.walk(path, nodeRecord -> {
+                snapshotWriter.visit(nodeRecord);
+
+                if (snapshotWriter.getCount() % 100 == 0) {
+                    this.operationListener.operationProgress(Operation.EXPORT_SUBTREE, path, snapshotWriter.getCount(), 0);
+                }
+            });
 
-        try {
-            List<ZooKeeperTreeNode> result = new ArrayList<>();
-            List<String> children = this.zooKeeper.getChildren(node.getZooKeeperPath(), false);
-            Collections.sort(children);
+            snapshotWriter.finish();
+            finished = true;
+            LOGGER.info("Exported {} nodes below {} to {}", snapshotWriter.getCount(), path, file);
+        } catch (CancellationException e) {
+            LOGGER.warn(e.getMessage());
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            if (!finished) {
+                deletePartialFile(file);
+            }
 
-            for (String eachChild : children) {
-                String childPath = join(node.getZooKeeperPath(), eachChild);
-                result.add(this.createNode(childPath));
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.EXPORT_SUBTREE, path);
+        }
+    }
 
-                if (result.size() >= maxCount) {
-                    break;
-                }
-            }
+    @Override
+    public String[] getChildNames(ZooKeeperTreeNode node) {
+        this.operationListener.operationStarted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
 
-            return result;
+        try {
+            return this.nodeLoader.loadChildNames(node, this.watching);
         } catch (Exception e) {
             throw new ZooKeeperBrowserException(e.getMessage(), e);
         } finally {
-            this.viewer.operationCompleted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
+            this.operationListener.operationCompleted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
         }
     }
 
+    @Override
+    public List<ZooKeeperTreeNode> getChildren(ZooKeeperTreeNode node, String[] childNames, int offset, int count) {
+        this.operationListener.operationStarted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
+
+        try {
+            return this.nodeLoader.loadChildren(node, childNames, offset, count, this.watching);
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            this.operationListener.operationCompleted(Operation.LOAD_CHILDREN, node.getZooKeeperPath());
+        }
+    }
+
+    @Override
+    public String getConnectedServer() {
+        ZooKeeperClient currentZooKeeper = this.zooKeeper;
+        if (currentZooKeeper == null) {
+            return null;
+        }
+
+        return currentZooKeeper.getConnectedServer();
+    }
+
     @Override
     public ConnectionState getConnectionState() {
         return this.connectionState;
@@ -169,17 +366,23 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
 
     @Override
     public byte[] getContent(String path) {
-        this.viewer.operationStarted(Operation.LOAD_CONTENT, path);
+        this.operationListener.operationStarted(Operation.LOAD_CONTENT, path);
 
         try {
-            return this.zooKeeper.getData(path, false, null);
+            // with Live-Sync the content is cached until a data watch reports a change
+            return this.zooKeeper.getData(path, this.watching, null);
         } catch (Exception e) {
             throw new ZooKeeperBrowserException(e.getMessage(), e);
         } finally {
-            this.viewer.operationCompleted(Operation.LOAD_CONTENT, path);
+            this.operationListener.operationCompleted(Operation.LOAD_CONTENT, path);
         }
     }
 
+    @Override
+    public List<SubtreeSize> getHeaviestSubtrees(int maxResults) {
+        return this.subtreeSizes.getHeaviest(maxResults);
+    }
+
     @Override
     public ZooKeeperTreeNode getNode(String path) {
         try {
@@ -189,15 +392,63 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         }
     }
 
+    @Override
+    public SubtreeSize getSubtreeSize(NodePath path) {
+        return this.subtreeSizes.get(path);
+    }
+
     @Override
     public String getZookeeperHost() {
         return this.zookeeperHost;
     }
 
+    @Override
+    public void importSubtree(Path file, String path, ConflictPolicy conflictPolicy) {
+        this.operationListener.operationStarted(Operation.IMPORT_SUBTREE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.IMPORT_SUBTREE, path);
+
+        try (SnapshotReader snapshotReader = new SnapshotReader(file)) {
+            String rootPath = snapshotReader.getRootPath();
+            String targetPath = "/".equals(rootPath) ? path : join(path, ZooKeeperTreeNode.getLastName(rootPath));
+
+            SubtreeImporter subtreeImporter = new SubtreeImporter(this.zooKeeper, MAX_PENDING_BATCHES);
+            subtreeImporter.setConflictPolicy(conflictPolicy);
+            subtreeImporter.setCancelled(cancellationToken);
+            subtreeImporter.setProgressListener(
+                (completed, total) -> this.operationListener.operationProgress(Operation.IMPORT_SUBTREE, path, completed, total));
+
+            long imported = subtreeImporter.importSubtree(snapshotReader, targetPath);
+            LOGGER.info("Imported {} nodes from {} to {}", imported, file, targetPath);
+        } catch (CancellationException e) {
+            LOGGER.warn(e.getMessage());
+        } catch (ZooKeeperBrowserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.IMPORT_SUBTREE, path);
+        }
+    }
+
+    @Override
+    public void invalidate(String path) {
+        // nothing to do
+    }
+
+    @Override
+    public boolean isWatching() {
+        return this.watching;
+    }
+
     @Override
     public void process(WatchedEvent event) {
-        LOGGER.info("Received {}", event);
+        LOGGER.debug("Received {}", event);
         if (event.getType() != EventType.None) {
+            // listeners query ZooKeeper again, which must not happen on the event thread
+            if (!this.eventExecutor.isShutdown()) {
+                this.eventExecutor.execute(() -> this.fireNodeChanged(event));
+            }
             return;
         }
 
@@ -209,6 +460,8 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
 
             case Expired:
                 LOGGER.info("ZooKeeper session was expired.");
+                // the watches of the change feeds are gone with the session
+                this.closeChangeFeeds();
                 this.setConnectionState(ConnectionState.DISCONNECTED);
                 this.connect();
                 break;
@@ -217,7 +470,6 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
             case SyncConnected:
                 LOGGER.info("Connected to the ZooKeeper ensemble.");
                 this.setConnectionState(ConnectionState.CONNECTED);
-                this.updateContent();
                 break;
 
             default:
@@ -226,6 +478,20 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         }
     }
 
+    @Override
+    public void refreshNodeStats(List<ZooKeeperTreeNode> nodes) {
+        this.updateNodeStats(nodes);
+    }
+
+    @Override
+    public List<String> search(String query, int maxResults) {
+        return this.searchIndex.search(query, maxResults);
+    }
+
+    public void setConnectionStateListener(ConnectionStateListener connectionStateListener) {
+        this.connectionStateListener = connectionStateListener;
+    }
+
     @Override
     public void setContent(String path, byte[] bytes) {
         try {
@@ -235,6 +501,32 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         }
     }
 
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public void setOperationListener(OperationListener operationListener) {
+        this.operationListener = operationListener;
+    }
+
+    @Override
+    public void setWatching(boolean watching) {
+        this.watching = watching;
+    }
+
+    @Override
+    public void updateNodeStats(List<ZooKeeperTreeNode> nodes) {
+        if (this.zooKeeper == null) {
+            return;
+        }
+
+        try {
+            this.nodeLoader.loadStats(nodes, this.watching);
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void updateNodeStats(ZooKeeperTreeNode node) {
         if (this.zooKeeper == null) {
@@ -242,29 +534,63 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         }
 
         try {
-            Stat stat = this.zooKeeper.exists(node.getZooKeeperPath(), false);
+            Stat stat = this.zooKeeper.exists(node.getZooKeeperPath(), this.watching);
             if (stat == null) {
                 return;
             }
 
-            NodeDetails nodeDetails = node.getNodeDetails();
-            nodeDetails.setChildren(stat.getNumChildren());
-            nodeDetails.setCreated(new Date(stat.getCtime()));
-            nodeDetails.setCversion(stat.getCversion());
-            nodeDetails.setModified(new Date(stat.getMtime()));
-            nodeDetails.setVersion(stat.getVersion());
+            node.update(stat);
+        } catch (Exception e) {
+            throw new ZooKeeperBrowserException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void walkSubtree(String path, boolean fetchData, NodeVisitor visitor) {
+        this.operationListener.operationStarted(Operation.WALK_SUBTREE, path);
+        CancellationToken cancellationToken = this.createCancellationToken(Operation.WALK_SUBTREE, path);
+
+        try {
+            SubtreeWalker subtreeWalker = new SubtreeWalker(this.zooKeeper, MAX_PENDING_REQUESTS);
+            subtreeWalker.setFetchData(fetchData);
+            subtreeWalker.setCancelled(cancellationToken);
+            subtreeWalker.walk(path, visitor);
         } catch (Exception e) {
             throw new ZooKeeperBrowserException(e.getMessage(), e);
+        } finally {
+            this.cancellationTokens.remove(cancellationToken);
+            this.operationListener.operationCompleted(Operation.WALK_SUBTREE, path);
         }
     }
 
+    @Override
+    public ChangeFeed watchChanges(String path, ChangeEventBuffer changeEventBuffer) {
+        ChangeFeed result = new ChangeFeed(this.zooKeeper, path, changeEventBuffer, MAX_PENDING_REQUESTS);
+        this.changeFeeds.removeIf(ChangeFeed::isClosed);
+        this.changeFeeds.add(result);
+        result.start();
+        return result;
+    }
+
+    private void closeChangeFeeds() {
+        for (ChangeFeed eachChangeFeed : this.changeFeeds) {
+            eachChangeFeed.close();
+        }
+        this.changeFeeds.clear();
+    }
+
     private void connect() {
         LOGGER.info("Start connect to {}", this.zookeeperHost);
 
         try {
             this.setConnectionState(ConnectionState.INITIALIZING);
-            this.zooKeeper = new ZooKeeper(this.zookeeperHost, DEFAULT_SESSION_TIMEOUT, this);
-            this.setConnectionState(ConnectionState.CONNECTING);
+            this.zooKeeper = new ZooKeeperClient(this.zookeeperHost, DEFAULT_SESSION_TIMEOUT, this, this.metricsRegistry);
+            this.nodeLoader = new PipelinedNodeLoader(this.zooKeeper, MAX_PENDING_REQUESTS);
+            this.searchIndexer = new SearchIndexer(this.zooKeeper, this.searchIndex, MAX_PENDING_REQUESTS);
+            if (this.connectionState == ConnectionState.INITIALIZING) {
+                // the session might already have been established by the event thread
+                this.setConnectionState(ConnectionState.CONNECTING);
+            }
         } catch (Exception e) {
             LOGGER.error("Could not connect to ZooKeeper ensemble.", e);
         }
@@ -272,38 +598,57 @@ public class ZooKeeperBrowserMain implements Watcher, NodeProvider {
         LOGGER.info("Completed connect to {}", this.zooKeeper);
     }
 
+    private CancellationToken createCancellationToken(Operation operation, String path) {
+        CancellationToken result = new CancellationToken(operation, path);
+        this.cancellationTokens.add(result);
+        return result;
+    }
+
     private ZooKeeperTreeNode createNode(String path) {
         return new ZooKeeperTreeNode(NodeDetails.withPath(path));
     }
 
-    private void deleteRecursively(String path) {
-        for (int i = 0; i < MAX_DELETE_ATTEMPTS; i++) {
-            try {
-                List<String> children = this.zooKeeper.getChildren(path, false);
+    private void fireNodeChanged(WatchedEvent event) {
+        SearchIndexer currentSearchIndexer = this.searchIndexer;
+        if (currentSearchIndexer != null) {
+            // the search index is kept up to date regardless of live sync
+            this.fireNodeChanged(currentSearchIndexer, event);
+        }
 
-                for (String eachChild : children) {
-                    this.deleteRecursively(join(path, eachChild));
-                }
+        if (!this.watching) {
+            return;
+        }
 
-                this.zooKeeper.delete(path, -1);
-                return;
-            } catch (KeeperException.NoNodeException | InterruptedException e) {
-                // do nothing
-            } catch (Exception e) {
-                throw new ZooKeeperBrowserException(e.getMessage(), e);
-            }
+        for (NodeChangeListener eachListener : this.nodeChangeListeners) {
+            this.fireNodeChanged(eachListener, event);
         }
+    }
 
-        throw new ZooKeeperBrowserException(
-            "Could not recursively delete node '" + path + "' after " + MAX_DELETE_ATTEMPTS + " attempts.");
+    private void fireNodeChanged(NodeChangeListener listener, WatchedEvent event) {
+        try {
+            switch (event.getType()) {
+                case NodeChildrenChanged:
+                    listener.childrenChanged(event.getPath());
+                    break;
+
+                case NodeDataChanged:
+                    listener.dataChanged(event.getPath());
+                    break;
+
+                case NodeDeleted:
+                    listener.nodeDeleted(event.getPath());
+                    break;
+
+                default:
+                    break;
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not process {}", event, e);
+        }
     }
 
     private void setConnectionState(ConnectionState connectionState) {
         this.connectionState = connectionState;
-        this.viewer.connectionStateChanged();
-    }
-
-    private void updateContent() {
-        this.viewer.updateContent();
+        this.connectionStateListener.connectionStateChanged();
     }
 }
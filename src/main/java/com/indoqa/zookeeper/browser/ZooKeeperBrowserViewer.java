@@ -22,6 +22,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,10 +32,17 @@ import java.util.*;
 import java.util.List;
 import java.util.Timer;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 import javax.swing.*;
 import javax.swing.JToggleButton.ToggleButtonModel;
@@ -48,23 +56,44 @@ import javax.swing.tree.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelectionListener {
+public class ZooKeeperBrowserViewer
+        implements TreeWillExpandListener, TreeSelectionListener, NodeChangeListener, OperationListener, ConnectionStateListener {
 
-    private static final String BASE_TITLE = "Indoqa ZooKeeper Browser";
     private static final int DEFAULT_MAX_CHILDREN = 100;
-    private static final int MAX_UPDATE_TIME = 500;
+    private static final int MAX_STATS_BATCH_SIZE = 1_000;
+    private static final int MAX_SEARCH_RESULTS = 1_000;
+    private static final int METRICS_REFRESH_DELAY = 1_000;
+    private static final int MAX_SUBTREE_SIZE_ROWS = 1_000;
+    private static final int CHANGE_FEED_SIZE = Integer.getInteger("zookeeper-browser.change-feed-size", 10_000);
+    private static final int CHANGE_FEED_REFRESH_DELAY = 250;
+    private static final int MAX_EDITABLE_CONTENT_SIZE = 64 * 1024;
+    private static final String TEXT_CARD = "text";
+    private static final String LINES_CARD = "lines";
 
     private static final int WATCH_DOG_UPDATE_DELAY = 100;
     private static final int CONNECT_TIMEOUT = 30_000;
+    private static final int MAX_CACHED_PAYLOAD_SIZE = Integer.getInteger("zookeeper-browser.cached-payload-size", 1024);
+    private static final int MAX_CACHED_PAYLOADS = 1_000;
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private JFrame frame;
+    private final JFrame frame;
+    private final JPanel component;
     private JTree tree;
 
-    private DefaultTreeModel treeModel;
+    private ZooKeeperTreeModel treeModel;
     private JTextArea textArea;
+    private JList<String> lstContent;
+    private JPanel pnlContent;
+    private JToggleButton tglHex;
+    private ContentListModel contentModel;
+    private boolean contentEditable = true;
+    private CompletableFuture<ContentListModel> contentRequest;
+    private final Set<ZooKeeperTreeNode> expandingNodes = new HashSet<>();
+    private final TreeUpdateScheduler treeUpdateScheduler = new TreeUpdateScheduler(() -> this.treeModel, this::resizeTree);
     private NodeProvider nodeProvider;
+    private AsyncNodeProvider asyncNodeProvider;
+    private MetricsRegistry metricsRegistry;
     private JComboBox<String> cbxHost;
 
     private String selectedZookeeperPath;
@@ -80,32 +109,38 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
 
     private ConnectionWatchDog watchDog;
     private JProgressBar pgrLoading;
-    private Operation currentOperation;
+    private JButton btnCancel;
+    // the cancellable operations in the order they were started, only accessed on the event dispatch thread
+    private final List<RunningOperation> cancellableOperations = new ArrayList<>();
+    private final AtomicInteger runningOperations = new AtomicInteger();
+    private volatile long lastOperationCompleted;
+    private int openDialogs;
     private JFileChooser fileChooser;
     private JTextField txtNodeDetails;
-
-    public ZooKeeperBrowserViewer() {
-        this.frame = new JFrame();
-        this.frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
-        this.frame.setLayout(new BorderLayout());
-        this.frame.setIconImage(Toolkit.getDefaultToolkit().getImage(this.getClass().getResource("/icon.png")));
-        this.frame.addWindowListener(new WindowAdapter() {
-
-            @Override
-            public void windowClosed(WindowEvent e) {
-                ZooKeeperBrowserViewer.this.disconnect();
-            }
-        });
+    private JTextField txtSearch;
+    private Consumer<String> titleListener = title -> {
+        // do nothing
+    };
+    private volatile boolean suspended;
+    private final TreeCacheStore treeCacheStore = new TreeCacheStore(getTreeCacheDirectory());
+    private final ExecutorService treeCacheExecutor = createTreeCacheExecutor();
+    private final Map<String, byte[]> cachedPayloads = new PayloadCache(MAX_CACHED_PAYLOADS);
+    private volatile CompletableFuture<Void> treeCacheRequest;
+    private volatile boolean treeCacheShown;
+    private volatile CompletableFuture<Void> refreshRequest;
+    private Supplier<Map<String, NodeProvider>> sessionNodeProviders = () -> Collections
+        .singletonMap(this.nodeProvider.getZookeeperHost(), this.nodeProvider);
+
+    public ZooKeeperBrowserViewer(JFrame frame) {
+        super();
+
+        this.frame = frame;
 
         this.knownHosts.addAll(this.readKnownHosts());
 
-        this.frame.add(this.createActionPanel(), BorderLayout.NORTH);
-        this.frame.add(this.createMainPanel(), BorderLayout.CENTER);
-
-        this.frame.setSize(800, 600);
-        this.frame.setLocationRelativeTo(null);
-
-        this.frame.setVisible(true);
+        this.component = new JPanel(new BorderLayout());
+        this.component.add(this.createActionPanel(), BorderLayout.NORTH);
+        this.component.add(this.createMainPanel(), BorderLayout.CENTER);
 
         this.fileChooser = new JFileChooser();
 
@@ -124,19 +159,105 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
                 ZooKeeperBrowserViewer.this.updatePendingNodes();
             }
         }, 10, 10);
+    }
+
+    private static ContentListModel createContentModel(byte[] content, boolean hex) {
+        if (content == null) {
+            return null;
+        }
+
+        if (hex || ContentListModel.isBinary(content)) {
+            return ContentListModel.hex(content);
+        }
+
+        return ContentListModel.text(content);
+    }
 
-        Thread.setDefaultUncaughtExceptionHandler(this::uncaughtException);
+    private static ExecutorService createTreeCacheExecutor() {
+        // not a daemon thread, closing the last window must not lose the tree cache that is still being written
+        ThreadPoolExecutor result = new ThreadPoolExecutor(
+            1,
+            1,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "zookeeper-browser-tree-cache"));
+        result.allowCoreThreadTimeOut(true);
+        return result;
     }
 
     private static Path getKnownHostsFile() {
         return Paths.get(System.getProperty("user.home"), ".indoqa-zookeeper-browser/known-hosts.txt").toAbsolutePath();
     }
 
+    private static Path getTreeCacheDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".indoqa-zookeeper-browser/tree-cache").toAbsolutePath();
+    }
+
+    private static boolean isTreeRefresh(Operation operation) {
+        return operation == Operation.LOAD_CHILDREN || operation == Operation.LOAD_STATS;
+    }
+
+    private static <T> T invokeAndGet(Supplier<T> supplier) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return supplier.get();
+        }
+
+        AtomicReference<T> result = new AtomicReference<>();
+        invokeAndWait(() -> result.set(supplier.get()));
+        return result.get();
+    }
+
+    private static void invokeAndWait(Runnable runnable) {
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new ZooKeeperBrowserException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public void childrenChanged(String path) {
+        // the window of loaded children is read on the event dispatch thread, the tree must not be read concurrently
+        int[] window = invokeAndGet(() -> {
+            ZooKeeperTreeNode node = this.findNode(path);
+            return node == null ? null : new int[] {node.getChildOffset(), node.getLoadedChildren().size()};
+        });
+        if (window == null) {
+            return;
+        }
+
+        ZooKeeperTreeNode update = this.nodeProvider.getNode(path);
+        String[] childNames = this.nodeProvider.getChildNames(update);
+        int count = Math.max(window[1], DEFAULT_MAX_CHILDREN);
+        int offset = Math.max(0, Math.min(window[0], childNames.length - count));
+        List<ZooKeeperTreeNode> children = this.nodeProvider.getChildren(update, childNames, offset, count);
+
+        SwingUtilities.invokeLater(() -> {
+            ZooKeeperTreeNode currentNode = this.findNode(path);
+            if (currentNode == null) {
+                return;
+            }
+
+            currentNode.setUserObject(update.getNodeDetails());
+            this.showChildren(currentNode, childNames, offset, children);
+        });
+    }
+
     public void clearContent() {
+        this.treeCacheShown = false;
+        this.cachedPayloads.clear();
         this.tree.setModel(new DefaultTreeModel(null));
         this.resizeTree();
     }
 
+    @Override
     public void connectionStateChanged() {
         ConnectionState connectionState = this.nodeProvider.getConnectionState();
         String zookeeperHost = this.nodeProvider.getZookeeperHost();
@@ -146,22 +267,23 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
 
         switch (connectionState) {
             case INITIALIZING:
-                this.cbxHost.setEnabled(false);
-                this.tglConnect.setEnabled(false);
-                this.tglConnect.setSelected(true);
-                this.updateTitle(null);
-                this.clearContent();
-                break;
-
             case DISCONNECTING:
                 this.cbxHost.setEnabled(false);
                 this.tglConnect.setEnabled(false);
                 this.tglConnect.setSelected(true);
-                this.updateTitle(null);
-                this.clearContent();
+                if (!this.suspended) {
+                    this.updateTitle(null);
+                    this.clearContent();
+                }
                 break;
 
             case DISCONNECTED:
+                if (this.suspended) {
+                    // the tree stays visible and is reloaded with its expanded paths when the session is resumed
+                    this.tglConnect.setText("Suspended");
+                    break;
+                }
+
                 this.cbxHost.setEnabled(true);
                 this.tglConnect.setEnabled(true);
                 this.tglConnect.setSelected(false);
@@ -175,6 +297,10 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
                 this.tglConnect.setEnabled(true);
                 this.tglConnect.setSelected(true);
                 this.updateTitle(zookeeperHost);
+
+                if (!this.suspended && this.tree.getModel().getRoot() == null) {
+                    this.treeCacheRequest = this.asyncNodeProvider.execute(() -> this.showTreeCache(zookeeperHost));
+                }
                 break;
 
             case CONNECTED:
@@ -188,6 +314,8 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
                 this.updateTitle(zookeeperHost);
 
                 this.addKnownHost(zookeeperHost);
+                this.suspended = false;
+                this.updateContent();
 
                 break;
 
@@ -196,6 +324,37 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         }
     }
 
+    @Override
+    public void dataChanged(String path) {
+        if (invokeAndGet(() -> this.findNode(path)) == null) {
+            return;
+        }
+
+        ZooKeeperTreeNode update = this.nodeProvider.getNode(path);
+        this.nodeProvider.updateNodeStats(update);
+        if (update.getNodeDetails().getChildren() == null) {
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            ZooKeeperTreeNode node = this.findNode(path);
+            if (node == null) {
+                return;
+            }
+
+            node.setUserObject(update.getNodeDetails());
+            this.treeUpdateScheduler.nodeChanged(node);
+
+            if (path.equals(this.selectedZookeeperPath)) {
+                this.showNodeDetails(update.getNodeDetails());
+            }
+        });
+    }
+
+    public JComponent getComponent() {
+        return this.component;
+    }
+
     public Set<String> getExpandedZooKeeperPaths() {
         Set<String> result = new TreeSet<>();
 
@@ -216,46 +375,144 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         return result;
     }
 
+    public long getLastOperationCompleted() {
+        return this.lastOperationCompleted;
+    }
+
+    public boolean isBusy() {
+        // running operations and open change feeds or comparisons need the connection of this session
+        return this.runningOperations.get() > 0 || this.openDialogs > 0;
+    }
+
+    @Override
+    public void nodeDeleted(String path) {
+        SwingUtilities.invokeLater(() -> {
+            ZooKeeperTreeNode node = this.findNode(path);
+            if (node == null || node.getParent() == null) {
+                return;
+            }
+
+            ZooKeeperTreeNode parent = (ZooKeeperTreeNode) node.getParent();
+            int index = parent.getIndex(node);
+            this.treeModel.removeChild(parent, index);
+
+            this.treeModel.nodesWereRemoved(parent, new int[] {index}, new Object[] {node});
+            this.treeUpdateScheduler.nodeChanged(parent);
+        });
+    }
+
+    @Override
     public void operationCompleted(Operation operation, String path) {
-        this.currentOperation = null;
+        this.runningOperations.decrementAndGet();
+        if (!isTreeRefresh(operation)) {
+            // the periodic refresh of the tree does not count as using the session
+            this.lastOperationCompleted = System.currentTimeMillis();
+        }
 
-        this.pgrLoading.setVisible(false);
-        this.componentEnablers.forEach(ComponentEnabler::update);
+        SwingUtilities.invokeLater(() -> {
+            RunningOperation runningOperation = this.findCancellableOperation(operation, path);
+            if (runningOperation != null) {
+                this.cancellableOperations.remove(runningOperation);
+            }
+
+            this.updateOperationProgress();
+        });
+    }
+
+    @Override
+    public void operationProgress(Operation operation, String path, long completed, long total) {
+        SwingUtilities.invokeLater(() -> {
+            RunningOperation runningOperation = this.findCancellableOperation(operation, path);
+            if (runningOperation == null) {
+                return;
+            }
+
+            runningOperation.setProgress(completed, total);
+            this.updateOperationProgress();
+        });
     }
 
+    @Override
     public void operationStarted(Operation operation, String path) {
-        this.currentOperation = operation;
+        this.runningOperations.incrementAndGet();
 
-        this.pgrLoading.setVisible(true);
-        this.componentEnablers.forEach(ComponentEnabler::update);
+        SwingUtilities.invokeLater(() -> {
+            // loading and refreshing the tree runs next to the other operations and cannot be cancelled
+            if (!isTreeRefresh(operation)) {
+                this.cancellableOperations.add(new RunningOperation(operation, path));
+            }
+
+            this.updateOperationProgress();
+        });
+    }
+
+    public void resume() {
+        if (!this.suspended) {
+            return;
+        }
+
+        String zookeeperHost = this.nodeProvider.getZookeeperHost();
+        this.asyncNodeProvider.execute(() -> this.nodeProvider.connectTo(zookeeperHost));
     }
 
     public void setExpandedZooKeeperPaths(Set<String> expandedPaths) {
-        DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) this.tree.getModel().getRoot();
-        Enumeration<TreeNode> nodes = rootNode.breadthFirstEnumeration();
-        while (nodes.hasMoreElements()) {
-            ZooKeeperTreeNode treeNode = (ZooKeeperTreeNode) nodes.nextElement();
+        for (String eachPath : expandedPaths) {
+            ZooKeeperTreeNode treeNode = this.treeModel.getNode(eachPath);
 
-            if (expandedPaths.contains(treeNode.getZooKeeperPath())) {
+            if (treeNode != null) {
                 this.tree.expandPath(new TreePath(treeNode.getPath()));
             }
         }
     }
 
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     public void setNodeProvider(NodeProvider nodeProvider) {
         this.nodeProvider = nodeProvider;
+        this.asyncNodeProvider = new AsyncNodeProvider(
+            nodeProvider,
+            AsyncNodeProvider.createExecutor(),
+            throwable -> SwingUtilities.invokeLater(() -> this.uncaughtException(Thread.currentThread(), throwable)));
         this.connectionStateChanged();
     }
 
+    public void setSessionNodeProviders(Supplier<Map<String, NodeProvider>> sessionNodeProviders) {
+        this.sessionNodeProviders = sessionNodeProviders;
+    }
+
+    public void setTitleListener(Consumer<String> titleListener) {
+        this.titleListener = titleListener;
+    }
+
+    public void suspend() {
+        if (this.suspended || this.nodeProvider.getConnectionState() != ConnectionState.CONNECTED) {
+            return;
+        }
+
+        this.suspended = true;
+        this.saveTreeCache();
+        this.asyncNodeProvider.execute(this.nodeProvider::disconnect);
+    }
+
     @Override
     public void treeWillCollapse(TreeExpansionEvent event) throws ExpandVetoException {
         // nothing to do
     }
 
     @Override
-    public void treeWillExpand(TreeExpansionEvent event) {
+    public void treeWillExpand(TreeExpansionEvent event) throws ExpandVetoException {
         ZooKeeperTreeNode node = (ZooKeeperTreeNode) event.getPath().getLastPathComponent();
-        this.buildChildren(node);
+        if (node.getChildNames() != null || node.getChildCount() > 0) {
+            return;
+        }
+
+        // the children are loaded in the background and the node is expanded again once they are available
+        if (this.expandingNodes.add(node)) {
+            this.loadChildren(node, event.getPath());
+        }
+        throw new ExpandVetoException(event);
     }
 
     @Override
@@ -264,109 +521,87 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         if (selectionPath == null) {
             this.setSelectedZookeeperPath(null);
             this.txtNodeDetails.setText(null);
+        } else if (selectionPath.getLastPathComponent() instanceof MoreChildrenTreeNode) {
+            this.setSelectedZookeeperPath(null);
+            this.txtNodeDetails.setText(null);
+            this.loadMoreChildren((MoreChildrenTreeNode) selectionPath.getLastPathComponent());
         } else {
             ZooKeeperTreeNode node = (ZooKeeperTreeNode) selectionPath.getLastPathComponent();
             this.setSelectedZookeeperPath(node.getZooKeeperPath());
-            NodeDetails nodeDetails = node.getNodeDetails();
-            String created = nodeDetails.getCreated().toInstant().toString();
-            String modified = nodeDetails.getModified().toInstant().toString();
-            this.txtNodeDetails.setText(
-                nodeDetails.getPath() + ", Created: " + created + ", Modified: " + modified + ", Version: "
-                    + nodeDetails.getVersion() + ", Children: " + nodeDetails.getChildren());
+            this.showNodeDetails(node.getNodeDetails());
         }
 
         this.loadSelectedContent();
     }
 
     protected void autoUpdate() {
-        if (this.autoUpdate) {
-            try {
-                this.updateContent();
-            } catch (Exception e) {
-                this.logger.error("Auto-Update failed", e);
-            }
+        if (!this.autoUpdate || this.refreshRequest != null && !this.refreshRequest.isDone()) {
+            return;
+        }
+
+        try {
+            this.refreshRequest = this.asyncNodeProvider.execute(this::refreshTree);
+        } catch (Exception e) {
+            this.logger.error("Auto-Update failed", e);
         }
     }
 
     protected void disconnect() {
+        this.timer.cancel();
+        this.saveTreeCache();
+        this.suspended = false;
         ZooKeeperBrowserViewer.this.nodeProvider.disconnect();
+        this.asyncNodeProvider.shutdown();
+        // pending tree cache writes are still completed
+        this.treeCacheExecutor.shutdown();
     }
 
     protected void toggleAutoUpdate() {
         this.autoUpdate = !this.autoUpdate;
     }
 
-    protected void updateContent() {
-        if (SwingUtilities.isEventDispatchThread()) {
-            new Thread(this::updateContent).start();
-            return;
-        }
-
-        this.operationStarted(Operation.LOAD_CHILDREN, "/");
-
-        this.pendingNodes.clear();
-        Set<String> expandedZooKeeperPaths = this.getExpandedZooKeeperPaths();
-
-        try {
-            ZooKeeperTreeNode rootNode = this.nodeProvider.getNode("/");
-            this.pendingNodes.add(rootNode);
-
-            for (String eachExpandedPath : expandedZooKeeperPaths) {
-                ZooKeeperTreeNode node = rootNode.getNodeWithPath(eachExpandedPath);
-                if (node != null) {
-                    this.buildChildren(node);
-                }
-            }
-
-            this.treeModel = new DefaultTreeModel(rootNode);
-
-            SwingUtilities.invokeLater(() -> {
-                this.tree.setModel(this.treeModel);
-                this.resizeTree();
-            });
-        } finally {
-            SwingUtilities.invokeLater(() -> {
-                for (String eachPath : expandedZooKeeperPaths) {
-                    this.expandZooKeeperPath(eachPath);
-                }
-            });
+    protected void toggleLiveSync() {
+        boolean watching = !this.nodeProvider.isWatching();
+        this.nodeProvider.setWatching(watching);
 
-            this.operationCompleted(Operation.LOAD_CHILDREN, "/");
+        if (watching) {
+            // reload once to register watches on all nodes that are already loaded
+            this.updateContent();
         }
     }
 
+    protected void updateContent() {
+        this.asyncNodeProvider.execute(this::rebuildTree);
+    }
+
     protected void updatePendingNodes() {
         if (this.pendingNodes.isEmpty()) {
             return;
         }
 
-        Set<ZooKeeperTreeNode> affectedNode = new HashSet<>();
-
-        long start = System.currentTimeMillis();
-        while (true) {
-            long elapsed = System.currentTimeMillis() - start;
-            if (elapsed > MAX_UPDATE_TIME) {
-                break;
-            }
-
-            ZooKeeperTreeNode node = this.pendingNodes.poll();
-            if (node == null) {
-                break;
-            }
-
-            this.nodeProvider.updateNodeStats(node);
+        List<ZooKeeperTreeNode> nodes = new ArrayList<>();
+        this.pendingNodes.drainTo(nodes, MAX_STATS_BATCH_SIZE);
+        nodes.removeIf(node -> node.getNodeDetails().getChildren() != null);
+        if (nodes.isEmpty()) {
+            return;
+        }
 
-            while (node != null) {
-                affectedNode.add(node);
-                node = (ZooKeeperTreeNode) node.getParent();
-            }
+        // the stats are loaded into detached nodes, the aggregates of the tree are only changed on the event dispatch thread
+        List<ZooKeeperTreeNode> updates = new ArrayList<>(nodes.size());
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            updates.add(new ZooKeeperTreeNode(NodeDetails.withPath(eachNode.getNodePath())));
         }
+        this.nodeProvider.updateNodeStats(updates);
 
         SwingUtilities.invokeLater(() -> {
-            for (ZooKeeperTreeNode eachNode : affectedNode) {
-                this.treeModel.nodeChanged(eachNode);
+            for (int i = 0; i < nodes.size(); i++) {
+                NodeDetails nodeDetails = updates.get(i).getNodeDetails();
+                if (nodeDetails.getChildren() != null) {
+                    nodes.get(i).setUserObject(nodeDetails);
+                }
             }
-            this.resizeTree();
+
+            this.treeUpdateScheduler.nodesChanged(nodes);
         });
     }
 
@@ -376,25 +611,99 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         }
     }
 
-    private void buildChildren(ZooKeeperTreeNode node) {
+    private void buildChildren(ZooKeeperTreeModel model, ZooKeeperTreeNode node, List<ZooKeeperTreeNode> pendingChildren) {
         if (node.getChildCount() > 0) {
             return;
         }
 
-        List<ZooKeeperTreeNode> children = this.nodeProvider.getChildren(node, DEFAULT_MAX_CHILDREN);
+        String[] childNames = this.nodeProvider.getChildNames(node);
+        List<ZooKeeperTreeNode> children = this.nodeProvider.getChildren(node, childNames, 0, DEFAULT_MAX_CHILDREN);
+        node.setChildNames(childNames, 0);
 
         for (ZooKeeperTreeNode eachChild : children) {
-            node.add(eachChild);
-            this.pendingNodes.add(eachChild);
+            model.addChild(node, eachChild);
+
+            if (eachChild.getNodeDetails().getChildren() == null) {
+                pendingChildren.add(eachChild);
+            }
+        }
+
+        if (children.size() < childNames.length) {
+            model.addChild(node, MoreChildrenTreeNode.next(childNames.length - children.size()));
         }
     }
 
+    private void analyzeSubtree() {
+        String path = this.selectedZookeeperPath == null ? "/" : this.selectedZookeeperPath;
+        CompletableFuture<Void> analysis = this.asyncNodeProvider.execute(() -> this.nodeProvider.analyzeSubtree(path));
+        this.showSubtreeSizes(path, analysis);
+    }
+
+    private void buildSearchIndex() {
+        String path = this.selectedZookeeperPath == null ? "/" : this.selectedZookeeperPath;
+        this.asyncNodeProvider.execute(() -> this.nodeProvider.buildSearchIndex(path));
+    }
+
+    private boolean canEditContent() {
+        return this.contentEditable && this.canEditNode();
+    }
+
     private boolean canEditNode() {
         return this.selectedZookeeperPath != null && this.canReload();
     }
 
     private boolean canReload() {
-        return this.nodeProvider.getConnectionState() == ConnectionState.CONNECTED && this.currentOperation == null;
+        return this.nodeProvider.getConnectionState() == ConnectionState.CONNECTED && this.cancellableOperations.isEmpty();
+    }
+
+    private void compareSubtree() {
+        if (this.selectedZookeeperPath == null) {
+            return;
+        }
+
+        Map<String, NodeProvider> nodeProviders = this.sessionNodeProviders.get();
+        JComboBox<String> cbxTarget = new JComboBox<>(nodeProviders.keySet().toArray(new String[0]));
+        cbxTarget.setSelectedItem(this.nodeProvider.getZookeeperHost());
+        JTextField txtTargetPath = new JTextField(this.selectedZookeeperPath, 30);
+
+        JPanel panel = new JPanel(new GridLayout(2, 2, 6, 6));
+        panel.add(new JLabel("Connection"));
+        panel.add(cbxTarget);
+        panel.add(new JLabel("Path"));
+        panel.add(txtTargetPath);
+
+        if (JOptionPane.showConfirmDialog(
+            this.frame,
+            panel,
+            "Compare '" + this.selectedZookeeperPath + "' with",
+            JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        NodeProvider target = nodeProviders.get(cbxTarget.getSelectedItem());
+        String targetPath = txtTargetPath.getText().trim();
+        if (target == null || !targetPath.startsWith("/")) {
+            return;
+        }
+
+        // the comparison reads past the cache, which would only return stale entries and evict the ones of the tree
+        NodeProvider source = nodeProviders.getOrDefault(this.nodeProvider.getZookeeperHost(), this.nodeProvider);
+        SubtreeDiffDialog subtreeDiffDialog = new SubtreeDiffDialog(
+            this.frame,
+            source,
+            this.selectedZookeeperPath,
+            target,
+            targetPath);
+        subtreeDiffDialog.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                ZooKeeperBrowserViewer.this.openDialogs--;
+            }
+        });
+
+        this.openDialogs++;
+        subtreeDiffDialog.show();
     }
 
     private JPanel createActionPanel() {
@@ -419,7 +728,7 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         result.add(actionsPanel);
 
         JButton btnReload = new JButton("Reload");
-        btnReload.addActionListener(e -> this.updateContent());
+        btnReload.addActionListener(e -> this.reloadContent());
         actionsPanel.add(btnReload);
         this.componentEnablers.add(new ComponentEnabler(btnReload, this::canReload));
 
@@ -428,11 +737,50 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         actionsPanel.add(tglAutoReload);
         this.componentEnablers.add(new ComponentEnabler(tglAutoReload, this::canReload));
 
+        JToggleButton tglLiveSync = new JToggleButton("Live-Sync");
+        tglLiveSync.addActionListener(e -> this.toggleLiveSync());
+        actionsPanel.add(tglLiveSync);
+        this.componentEnablers.add(new ComponentEnabler(tglLiveSync, this::canReload));
+
+        this.txtSearch = new JTextField(20);
+        this.txtSearch.addActionListener(e -> this.search());
+        actionsPanel.add(this.txtSearch);
+        this.componentEnablers.add(new ComponentEnabler(this.txtSearch, this::canReload));
+
+        JButton btnSearch = new JButton("Search");
+        btnSearch.addActionListener(e -> this.search());
+        actionsPanel.add(btnSearch);
+        this.componentEnablers.add(new ComponentEnabler(btnSearch, this::canReload));
+
+        JButton btnIndex = new JButton("Index");
+        btnIndex.addActionListener(e -> this.buildSearchIndex());
+        actionsPanel.add(btnIndex);
+        this.componentEnablers.add(new ComponentEnabler(btnIndex, this::canReload));
+
+        JButton btnAnalyze = new JButton("Analyze");
+        btnAnalyze.addActionListener(e -> this.analyzeSubtree());
+        actionsPanel.add(btnAnalyze);
+        this.componentEnablers.add(new ComponentEnabler(btnAnalyze, this::canReload));
+
+        JButton btnMetrics = new JButton("Metrics");
+        btnMetrics.addActionListener(e -> this.showMetrics());
+        actionsPanel.add(btnMetrics);
+
         this.pgrLoading = new JProgressBar();
         this.pgrLoading.setIndeterminate(true);
         this.pgrLoading.setVisible(false);
         actionsPanel.add(this.pgrLoading);
 
+        this.btnCancel = new JButton("Cancel");
+        this.btnCancel.addActionListener(e -> {
+            RunningOperation shownOperation = this.getShownOperation();
+            if (shownOperation != null) {
+                this.nodeProvider.cancelOperation(shownOperation.getOperation(), shownOperation.getPath());
+            }
+        });
+        this.btnCancel.setVisible(false);
+        actionsPanel.add(this.btnCancel);
+
         return result;
     }
 
@@ -446,23 +794,36 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
     private JPanel createContentPanel() {
         JPanel result = new JPanel(new BorderLayout());
 
+        this.pnlContent = new JPanel(new CardLayout());
+        result.add(this.pnlContent, BorderLayout.CENTER);
+
         this.textArea = new JTextArea();
-        result.add(new JScrollPane(this.textArea), BorderLayout.CENTER);
+        this.pnlContent.add(new JScrollPane(this.textArea), TEXT_CARD);
+
+        // large payloads are shown line by line, the fixed cell size keeps JList from measuring every line
+        this.lstContent = new JList<>();
+        this.lstContent.setFont(new Font(Font.MONOSPACED, Font.PLAIN, this.textArea.getFont().getSize()));
+        this.lstContent.setFixedCellHeight(this.lstContent.getFontMetrics(this.lstContent.getFont()).getHeight());
+        this.pnlContent.add(new JScrollPane(this.lstContent), LINES_CARD);
 
         JPanel pnlButtons = new JPanel();
         pnlButtons.setLayout(new BoxLayout(pnlButtons, BoxLayout.X_AXIS));
         pnlButtons.setBorder(new EmptyBorder(6, 6, 6, 6));
 
-        pnlButtons.add(this.createButton("Reload", event -> this.loadSelectedContent(), this::canEditNode));
+        pnlButtons.add(this.createButton("Reload", event -> this.reloadSelectedContent(), this::canEditNode));
         pnlButtons.add(Box.createHorizontalStrut(6));
         pnlButtons.add(this.createButton("Download", event -> this.downloadSelectedContent(), this::canEditNode));
         pnlButtons.add(Box.createHorizontalStrut(6));
+        this.tglHex = new JToggleButton("Hex");
+        this.tglHex.addActionListener(event -> this.toggleHex());
+        pnlButtons.add(this.tglHex);
+        pnlButtons.add(Box.createHorizontalStrut(6));
         this.txtNodeDetails = new JTextField();
         this.txtNodeDetails.setEditable(false);
         pnlButtons.add(this.txtNodeDetails);
         pnlButtons.add(Box.createHorizontalGlue());
         pnlButtons.add(Box.createHorizontalStrut(6));
-        pnlButtons.add(this.createButton("Save", event -> this.saveContent(), this::canEditNode));
+        pnlButtons.add(this.createButton("Save", event -> this.saveContent(), this::canEditContent));
         result.add(pnlButtons, BorderLayout.SOUTH);
 
         return result;
@@ -493,26 +854,41 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
             return;
         }
 
-        this.nodeProvider.createChild(this.selectedZookeeperPath, name);
-        this.updateContent();
+        String path = this.selectedZookeeperPath;
+        this.asyncNodeProvider.execute(() -> {
+            this.nodeProvider.createChild(path, name);
+            this.updateContent();
+        });
     }
 
     private JPanel createTreePanel() {
         JPanel result = new JPanel(new BorderLayout());
 
-        this.treeModel = new DefaultTreeModel(new ZooKeeperTreeNode(new NodeDetails()));
+        this.treeModel = new ZooKeeperTreeModel(new ZooKeeperTreeNode(new NodeDetails()));
         this.tree = new JTree(this.treeModel);
         this.tree.setShowsRootHandles(true);
         this.tree.addTreeWillExpandListener(this);
         this.tree.addTreeSelectionListener(this);
-        this.tree.setCellRenderer(new ZooKeeperTreeNodeRenderer());
+        this.tree.setCellRenderer(new ZooKeeperTreeNodeRenderer(this::getSubtreeSize));
         this.tree.setRowHeight(20);
         result.add(new JScrollPane(this.tree), BorderLayout.CENTER);
 
-        JPanel pnlButtons = new JPanel(new BorderLayout(6, 6));
+        JPanel pnlButtons = new JPanel();
+        pnlButtons.setLayout(new BoxLayout(pnlButtons, BoxLayout.X_AXIS));
         pnlButtons.setBorder(new EmptyBorder(6, 6, 6, 6));
-        pnlButtons.add(this.createButton("Delete", event -> this.deleteNode(), this::canEditNode), BorderLayout.WEST);
-        pnlButtons.add(this.createButton("New Child", event -> this.createNewNode(), this::canEditNode), BorderLayout.EAST);
+        pnlButtons.add(this.createButton("Delete", event -> this.deleteNode(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalStrut(6));
+        pnlButtons.add(this.createButton("Export", event -> this.exportSubtree(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalStrut(6));
+        pnlButtons.add(this.createButton("Import", event -> this.importSubtree(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalStrut(6));
+        pnlButtons.add(this.createButton("Compare", event -> this.compareSubtree(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalStrut(6));
+        pnlButtons.add(this.createButton("Changes", event -> this.showChangeFeed(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalGlue());
+        pnlButtons.add(this.createButton("Jump to Child", event -> this.jumpToChild(), this::canEditNode));
+        pnlButtons.add(Box.createHorizontalStrut(6));
+        pnlButtons.add(this.createButton("New Child", event -> this.createNewNode(), this::canEditNode));
         result.add(pnlButtons, BorderLayout.SOUTH);
 
         return result;
@@ -534,19 +910,16 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
             return;
         }
 
-        this.doDeleteNode(panel.isRecursively());
+        String path = this.selectedZookeeperPath;
+        boolean recursively = panel.isRecursively();
+        this.asyncNodeProvider.execute(() -> this.doDeleteNode(path, recursively));
     }
 
-    private void doDeleteNode(boolean recursively) {
-        if (SwingUtilities.isEventDispatchThread()) {
-            new Thread(() -> this.doDeleteNode(recursively)).start();
-            return;
-        }
-
+    private void doDeleteNode(String path, boolean recursively) {
         if (recursively) {
-            this.nodeProvider.deleteNodeRecursively(this.selectedZookeeperPath);
+            this.nodeProvider.deleteNodeRecursively(path);
         } else {
-            this.nodeProvider.deleteNode(this.selectedZookeeperPath);
+            this.nodeProvider.deleteNode(path);
         }
         this.updateContent();
     }
@@ -567,23 +940,24 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
 
         if (result == JFileChooser.APPROVE_OPTION) {
             Path path = this.fileChooser.getSelectedFile().toPath();
-            byte[] content = this.nodeProvider.getContent(this.selectedZookeeperPath);
 
-            try {
-                Files.write(path, content);
-            } catch (IOException e) {
-                JOptionPane.showMessageDialog(
-                    this.frame,
-                    "Failed to write file.",
-                    "Could not write file " + path + ": " + e.getMessage(),
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            this.asyncNodeProvider.getContent(this.selectedZookeeperPath).thenAccept(content -> {
+                try {
+                    Files.write(path, content == null ? new byte[0] : content);
+                } catch (IOException e) {
+                    SwingUtilities.invokeLater(
+                        () -> JOptionPane.showMessageDialog(
+                            this.frame,
+                            "Failed to write file.",
+                            "Could not write file " + path + ": " + e.getMessage(),
+                            JOptionPane.ERROR_MESSAGE));
+                }
+            });
         }
     }
 
     private void expandZooKeeperPath(String zooKeeperPath) {
-        ZooKeeperTreeNode rootNode = (ZooKeeperTreeNode) this.treeModel.getRoot();
-        ZooKeeperTreeNode node = rootNode.getNodeWithPath(zooKeeperPath);
+        ZooKeeperTreeNode node = this.treeModel.getNode(zooKeeperPath);
 
         if (node != null) {
             this.tree.expandPath(new TreePath(node.getPath()));
@@ -592,23 +966,247 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         this.resizeTree();
     }
 
+    private void exportSubtree() {
+        if (this.selectedZookeeperPath == null) {
+            return;
+        }
+
+        String path = this.selectedZookeeperPath;
+        String name = "/".equals(path) ? "root" : ZooKeeperTreeNode.getLastName(path);
+        this.fileChooser.setSelectedFile(new File(name + ".zksnap.gz"));
+
+        if (this.fileChooser.showSaveDialog(this.frame) == JFileChooser.APPROVE_OPTION) {
+            Path file = this.fileChooser.getSelectedFile().toPath();
+            this.asyncNodeProvider.execute(() -> this.nodeProvider.exportSubtree(path, file));
+        }
+    }
+
+    private RunningOperation findCancellableOperation(Operation operation, String path) {
+        for (RunningOperation eachOperation : this.cancellableOperations) {
+            if (eachOperation.getOperation() == operation && eachOperation.getPath().equals(path)) {
+                return eachOperation;
+            }
+        }
+
+        return null;
+    }
+
+    private ZooKeeperTreeNode findNode(String path) {
+        return this.treeModel.getNode(path);
+    }
+
+    private RunningOperation getShownOperation() {
+        // the most recently started operation is shown and cancelled by the cancel button
+        if (this.cancellableOperations.isEmpty()) {
+            return null;
+        }
+
+        return this.cancellableOperations.get(this.cancellableOperations.size() - 1);
+    }
+
+    private SubtreeSize getSubtreeSize(NodePath path) {
+        if (this.nodeProvider == null || path == null) {
+            return null;
+        }
+
+        return this.nodeProvider.getSubtreeSize(path);
+    }
+
+    private void importSubtree() {
+        if (this.selectedZookeeperPath == null) {
+            return;
+        }
+
+        String path = this.selectedZookeeperPath;
+        if (this.fileChooser.showOpenDialog(this.frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = this.fileChooser.getSelectedFile().toPath();
+
+        ConflictPolicy conflictPolicy = (ConflictPolicy) JOptionPane.showInputDialog(
+            this.frame,
+            "Import '" + file.getFileName() + "' below '" + path + "'.\n\nExisting nodes:",
+            "Import",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            ConflictPolicy.values(),
+            ConflictPolicy.SKIP);
+        if (conflictPolicy == null) {
+            return;
+        }
+
+        this.asyncNodeProvider.execute(() -> {
+            this.nodeProvider.importSubtree(file, path, conflictPolicy);
+            this.updateContent();
+        });
+    }
+
+    private void jumpToChild() {
+        TreePath selectionPath = this.tree.getSelectionPath();
+        if (selectionPath == null) {
+            return;
+        }
+
+        String prefix = JOptionPane.showInputDialog(this.frame, "Jump to the first child starting with");
+        if (prefix == null) {
+            return;
+        }
+
+        ZooKeeperTreeNode node = (ZooKeeperTreeNode) selectionPath.getLastPathComponent();
+        this.asyncNodeProvider.execute(() -> this.jumpToChild(node, prefix));
+    }
+
+    private void jumpToChild(ZooKeeperTreeNode node, String prefix) {
+        List<ZooKeeperTreeNode> children = this.showChildWindow(node, prefix);
+
+        SwingUtilities.invokeLater(() -> {
+            TreePath nodePath = new TreePath(node.getPath());
+            this.tree.expandPath(nodePath);
+            if (!children.isEmpty()) {
+                TreePath childPath = nodePath.pathByAddingChild(children.get(0));
+                this.tree.setSelectionPath(childPath);
+                this.tree.scrollPathToVisible(childPath);
+            }
+        });
+    }
+
+    private void loadChildren(ZooKeeperTreeNode node, TreePath treePath) {
+        this.asyncNodeProvider.execute(() -> {
+            ZooKeeperTreeNode update = this.nodeProvider.getNode(node.getZooKeeperPath());
+            String[] childNames = this.nodeProvider.getChildNames(update);
+            List<ZooKeeperTreeNode> children = this.nodeProvider.getChildren(node, childNames, 0, DEFAULT_MAX_CHILDREN);
+
+            SwingUtilities.invokeLater(() -> {
+                node.setUserObject(update.getNodeDetails());
+                this.showChildren(node, childNames, 0, children);
+
+                for (ZooKeeperTreeNode eachChild : children) {
+                    if (eachChild.getNodeDetails().getChildren() == null) {
+                        this.pendingNodes.add(eachChild);
+                    }
+                }
+
+                if (!children.isEmpty()) {
+                    this.tree.expandPath(treePath);
+                }
+            });
+        }).whenComplete((result, throwable) -> SwingUtilities.invokeLater(() -> this.expandingNodes.remove(node)));
+    }
+
+    private void loadMoreChildren(MoreChildrenTreeNode placeholder) {
+        ZooKeeperTreeNode node = (ZooKeeperTreeNode) placeholder.getParent();
+        if (node == null || node.getChildNames() == null) {
+            return;
+        }
+
+        String[] childNames = node.getChildNames();
+        List<ZooKeeperTreeNode> loadedChildren = node.getLoadedChildren();
+        int childOffset = node.getChildOffset();
+
+        this.asyncNodeProvider.execute(() -> {
+            List<ZooKeeperTreeNode> window = new ArrayList<>();
+            int offset;
+
+            if (placeholder.isPrevious()) {
+                offset = Math.max(0, childOffset - DEFAULT_MAX_CHILDREN);
+                window.addAll(this.nodeProvider.getChildren(node, childNames, offset, childOffset - offset));
+                window.addAll(loadedChildren);
+            } else {
+                offset = childOffset;
+                window.addAll(loadedChildren);
+                int nextOffset = offset + loadedChildren.size();
+                window.addAll(this.nodeProvider.getChildren(node, childNames, nextOffset, DEFAULT_MAX_CHILDREN));
+            }
+
+            SwingUtilities.invokeLater(() -> this.showChildren(node, childNames, offset, window));
+        });
+    }
+
     private void loadSelectedContent() {
         if (!SwingUtilities.isEventDispatchThread()) {
             SwingUtilities.invokeLater(this::loadSelectedContent);
             return;
         }
 
-        if (this.selectedZookeeperPath == null) {
-            this.textArea.setText("");
+        String path = this.selectedZookeeperPath;
+        if (path == null) {
+            this.showContent(null);
             return;
         }
 
-        byte[] content = this.nodeProvider.getContent(this.selectedZookeeperPath);
-        if (content == null) {
-            this.textArea.setText("");
-        } else {
-            this.textArea.setText(new String(content, StandardCharsets.UTF_8));
+        if (this.contentRequest != null) {
+            // a quickly changing selection must not queue up requests for content nobody looks at anymore
+            this.contentRequest.cancel(true);
+        }
+
+        boolean hex = this.tglHex.isSelected();
+        CompletableFuture<ContentListModel> request = this.asyncNodeProvider.supply(
+            () -> createContentModel(this.nodeProvider.getContent(path), hex));
+        this.contentRequest = request;
+
+        byte[] cachedPayload = this.cachedPayloads.get(path);
+        if (cachedPayload != null) {
+            // the last known content is shown right away and replaced as soon as the current one arrives
+            this.showContent(createContentModel(cachedPayload, hex));
         }
+
+        request.thenAccept(model -> SwingUtilities.invokeLater(() -> {
+            if (model != null && model.getContent().length <= MAX_CACHED_PAYLOAD_SIZE) {
+                this.cachedPayloads.put(path, model.getContent());
+            }
+
+            if (request == this.contentRequest) {
+                this.contentRequest = null;
+                this.showContent(model);
+            }
+        }));
+    }
+
+    private void mergeChildren(ZooKeeperTreeNode node, List<ZooKeeperTreeNode> children) {
+        Set<NodePath> childPaths = new HashSet<>();
+        for (ZooKeeperTreeNode eachChild : children) {
+            if (eachChild.getNodePath() != null) {
+                childPaths.add(eachChild.getNodePath());
+            }
+        }
+
+        List<Integer> removedIndices = new ArrayList<>();
+        List<Object> removedChildren = new ArrayList<>();
+        for (int i = node.getChildCount() - 1; i >= 0; i--) {
+            ZooKeeperTreeNode child = node.getChildAt(i);
+            if (child.getNodePath() == null || !childPaths.contains(child.getNodePath())) {
+                this.treeModel.removeChild(node, i);
+                removedIndices.add(0, i);
+                removedChildren.add(0, child);
+            }
+        }
+        if (!removedIndices.isEmpty()) {
+            this.treeModel.nodesWereRemoved(node, toArray(removedIndices), removedChildren.toArray());
+        }
+
+        List<Integer> insertedIndices = new ArrayList<>();
+        List<Integer> changedIndices = new ArrayList<>();
+        for (int i = 0; i < children.size(); i++) {
+            ZooKeeperTreeNode child = children.get(i);
+
+            if (i < node.getChildCount() && node.getChildAt(i).getNodePath().equals(child.getNodePath())) {
+                if (node.getChildAt(i) != child) {
+                    node.getChildAt(i).setUserObject(child.getNodeDetails());
+                }
+                changedIndices.add(i);
+            } else {
+                this.treeModel.insertChild(node, child, i);
+                insertedIndices.add(i);
+            }
+        }
+        if (!insertedIndices.isEmpty()) {
+            this.treeModel.nodesWereInserted(node, toArray(insertedIndices));
+        }
+        if (!changedIndices.isEmpty()) {
+            this.treeModel.nodesChanged(node, toArray(changedIndices));
+        }
+
+        this.treeUpdateScheduler.nodeChanged(node);
     }
 
     private List<String> readKnownHosts() {
@@ -629,6 +1227,169 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         return Collections.emptyList();
     }
 
+    private void rebuildTree() {
+        CompletableFuture<Void> cacheRequest = this.treeCacheRequest;
+        if (cacheRequest != null) {
+            this.treeCacheRequest = null;
+            cacheRequest.exceptionally(throwable -> null).join();
+        }
+
+        if (this.treeCacheShown) {
+            this.treeCacheShown = false;
+            this.revalidateTree();
+            return;
+        }
+
+        this.operationStarted(Operation.LOAD_CHILDREN, "/");
+
+        this.pendingNodes.clear();
+        Set<String> expandedZooKeeperPaths = this.getExpandedZooKeeperPaths();
+
+        try {
+            ZooKeeperTreeNode rootNode = this.nodeProvider.getNode("/");
+            ZooKeeperTreeModel model = new ZooKeeperTreeModel(rootNode);
+
+            List<ZooKeeperTreeNode> pendingChildren = new ArrayList<>();
+            pendingChildren.add(rootNode);
+            for (String eachExpandedPath : expandedZooKeeperPaths) {
+                ZooKeeperTreeNode node = model.getNode(eachExpandedPath);
+                if (node != null) {
+                    this.buildChildren(model, node, pendingChildren);
+                }
+            }
+
+            // the stats of the new tree are only loaded once it is no longer changed by this thread
+            SwingUtilities.invokeLater(() -> {
+                this.treeModel = model;
+                this.tree.setModel(this.treeModel);
+                this.pendingNodes.addAll(pendingChildren);
+                this.resizeTree();
+            });
+        } finally {
+            SwingUtilities.invokeLater(() -> {
+                for (String eachPath : expandedZooKeeperPaths) {
+                    this.expandZooKeeperPath(eachPath);
+                }
+            });
+
+            this.operationCompleted(Operation.LOAD_CHILDREN, "/");
+        }
+    }
+
+    private void refreshNodes(List<ZooKeeperTreeNode> nodes) {
+        List<NodeDetails> previousDetails = new ArrayList<>(nodes.size());
+        List<ZooKeeperTreeNode> updates = new ArrayList<>(nodes.size());
+        for (ZooKeeperTreeNode eachNode : nodes) {
+            previousDetails.add(eachNode.getNodeDetails());
+            updates.add(this.nodeProvider.getNode(eachNode.getZooKeeperPath()));
+        }
+
+        this.nodeProvider.refreshNodeStats(updates);
+
+        List<String> changedParents = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeDetails previous = previousDetails.get(i);
+            NodeDetails current = updates.get(i).getNodeDetails();
+
+            if (current.getCreated() == null) {
+                this.nodeDeleted(current.getPath());
+            } else if (nodes.get(i).getChildNames() != null
+                && (previous.getCversion() != current.getCversion() || previous.getPzxid() != current.getPzxid())) {
+                changedParents.add(current.getPath());
+            }
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            List<ZooKeeperTreeNode> changedNodes = new ArrayList<>();
+
+            for (int i = 0; i < nodes.size(); i++) {
+                NodeDetails previous = previousDetails.get(i);
+                NodeDetails current = updates.get(i).getNodeDetails();
+                ZooKeeperTreeNode node = this.findNode(current.getPath());
+                if (current.getCreated() == null || node == null) {
+                    continue;
+                }
+
+                boolean contentChanged = previous.getVersion() != current.getVersion() || previous.getMzxid() != current.getMzxid();
+                if (contentChanged) {
+                    this.cachedPayloads.remove(current.getPath());
+                }
+
+                node.setUserObject(current);
+                changedNodes.add(node);
+
+                if (current.getPath().equals(this.selectedZookeeperPath)) {
+                    this.showNodeDetails(current);
+
+                    if (contentChanged) {
+                        this.reloadSelectedContent();
+                    }
+                }
+            }
+
+            this.treeUpdateScheduler.nodesChanged(changedNodes);
+        });
+
+        for (String eachPath : changedParents) {
+            this.childrenChanged(eachPath);
+        }
+    }
+
+    private void refreshStats(List<ZooKeeperTreeNode> nodes) {
+        this.operationStarted(Operation.LOAD_STATS, "/");
+
+        try {
+            // only the stats are fetched, children are listed again where cversion or pzxid moved
+            for (int i = 0; i < nodes.size(); i += MAX_STATS_BATCH_SIZE) {
+                this.refreshNodes(nodes.subList(i, Math.min(i + MAX_STATS_BATCH_SIZE, nodes.size())));
+            }
+        } finally {
+            this.operationCompleted(Operation.LOAD_STATS, "/");
+        }
+    }
+
+    private void refreshTree() {
+        if (this.nodeProvider.getConnectionState() != ConnectionState.CONNECTED) {
+            return;
+        }
+
+        List<ZooKeeperTreeNode> nodes = new ArrayList<>();
+        invokeAndWait(() -> {
+            if (!(this.tree.getModel() instanceof ZooKeeperTreeModel)) {
+                return;
+            }
+
+            Set<String> paths = this.getExpandedZooKeeperPaths();
+            if (this.selectedZookeeperPath != null) {
+                paths.add(this.selectedZookeeperPath);
+            }
+
+            for (String eachPath : paths) {
+                ZooKeeperTreeNode node = this.findNode(eachPath);
+                if (node != null) {
+                    nodes.add(node);
+                }
+            }
+        });
+
+        if (!nodes.isEmpty()) {
+            this.refreshStats(nodes);
+        }
+    }
+
+    private void reloadContent() {
+        this.nodeProvider.invalidate("/");
+        this.updateContent();
+    }
+
+    private void reloadSelectedContent() {
+        if (this.selectedZookeeperPath != null) {
+            this.nodeProvider.invalidate(this.selectedZookeeperPath);
+        }
+
+        this.loadSelectedContent();
+    }
+
     private void removeKnownHost(String host) {
         if (this.knownHosts.remove(host)) {
             this.writeKnownHosts();
@@ -644,51 +1405,435 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         SwingUtilities.getAncestorOfClass(JPanel.class, this.tree).revalidate();
     }
 
+    private void revalidateTree() {
+        List<ZooKeeperTreeNode> cachedNodes = new ArrayList<>();
+        invokeAndWait(() -> {
+            Enumeration<?> nodes = this.treeModel.getRoot().preorderEnumeration();
+            while (nodes.hasMoreElements()) {
+                ZooKeeperTreeNode node = (ZooKeeperTreeNode) nodes.nextElement();
+                if (node.getNodePath() != null) {
+                    cachedNodes.add(node);
+                }
+            }
+        });
+
+        this.refreshStats(cachedNodes);
+    }
+
+    private void revealPath(String path) {
+        this.asyncNodeProvider.execute(() -> {
+            String parentPath = "/";
+
+            if (!"/".equals(path)) {
+                for (String eachName : path.substring(1).split("/")) {
+                    ZooKeeperTreeNode parent = this.findNode(parentPath);
+                    if (parent == null) {
+                        return;
+                    }
+
+                    String childPath = ZooKeeperBrowserMain.join(parentPath, eachName);
+                    if (this.findNode(childPath) == null) {
+                        this.showChildWindow(parent, eachName);
+                    }
+                    parentPath = childPath;
+                }
+            }
+
+            SwingUtilities.invokeLater(() -> this.selectZooKeeperPath(path));
+        });
+    }
+
     private void saveContent() {
         if (this.selectedZookeeperPath == null) {
             return;
         }
 
+        if (!this.contentEditable) {
+            return;
+        }
+
+        String path = this.selectedZookeeperPath;
         byte[] content = this.textArea.getText().getBytes(StandardCharsets.UTF_8);
-        this.nodeProvider.setContent(this.selectedZookeeperPath, content);
+        this.asyncNodeProvider.execute(() -> this.nodeProvider.setContent(path, content));
     }
 
-    private void setSelectedZookeeperPath(String selectedZookeeperPath) {
-        this.selectedZookeeperPath = selectedZookeeperPath;
+    private void saveTreeCache() {
+        if (!(this.tree.getModel() instanceof ZooKeeperTreeModel)) {
+            return;
+        }
+
+        String zookeeperHost = this.nodeProvider.getZookeeperHost();
+        try {
+            // the tree is serialized on the event dispatch thread, only the file is written in the background
+            ZooKeeperTreeNode root = (ZooKeeperTreeNode) this.tree.getModel().getRoot();
+            byte[] snapshot = this.treeCacheStore.serialize(root, this.getExpandedZooKeeperPaths(), this.cachedPayloads);
+            this.treeCacheExecutor.execute(() -> this.writeTreeCache(zookeeperHost, snapshot));
+        } catch (IOException e) {
+            this.logger.warn("Could not write the tree cache of " + zookeeperHost + ".", e);
+        }
+    }
+
+    private void showChangeFeed() {
+        String path = this.selectedZookeeperPath;
+        ChangeEventBuffer changeEventBuffer = new ChangeEventBuffer(CHANGE_FEED_SIZE);
+        ChangeFeed changeFeed = this.nodeProvider.watchChanges(path, changeEventBuffer);
+
+        ChangeFeedTableModel changeFeedTableModel = new ChangeFeedTableModel(changeEventBuffer);
+        JTable tblChanges = new JTable(changeFeedTableModel);
+        tblChanges.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tblChanges.getColumnModel().getColumn(3).setPreferredWidth(500);
+        tblChanges.getSelectionModel().addListSelectionListener(event -> {
+            int selectedRow = tblChanges.getSelectedRow();
+            if (!event.getValueIsAdjusting() && selectedRow != -1) {
+                String changedPath = changeFeedTableModel.getPath(selectedRow);
+                if (changedPath != null && this.findNode(changedPath) != null) {
+                    this.revealPath(changedPath);
+                }
+            }
+        });
+
+        JLabel lblStatus = new JLabel();
+        JToggleButton tglPause = new JToggleButton("Pause");
+        JButton btnClear = new JButton("Clear");
+        btnClear.addActionListener(event -> {
+            changeEventBuffer.clear();
+            changeFeedTableModel.refresh();
+        });
+
+        JPanel pnlStatus = new JPanel();
+        pnlStatus.setLayout(new BoxLayout(pnlStatus, BoxLayout.X_AXIS));
+        pnlStatus.setBorder(new EmptyBorder(6, 6, 6, 6));
+        pnlStatus.add(lblStatus);
+        pnlStatus.add(Box.createHorizontalGlue());
+        pnlStatus.add(tglPause);
+        pnlStatus.add(Box.createHorizontalStrut(6));
+        pnlStatus.add(btnClear);
+
+        JDialog dialog = new JDialog(this.frame, "Changes below " + path, false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.add(new JScrollPane(tblChanges), BorderLayout.CENTER);
+        dialog.add(pnlStatus, BorderLayout.SOUTH);
+        dialog.setSize(900, 400);
+        dialog.setLocationRelativeTo(this.frame);
+
+        // the watches record into the ring buffer, the table only reads the rows that are visible
+        NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.ENGLISH);
+        javax.swing.Timer refreshTimer = new javax.swing.Timer(CHANGE_FEED_REFRESH_DELAY, event -> {
+            if (!tglPause.isSelected()) {
+                changeFeedTableModel.refresh();
+            }
+
+            String status = numberFormat.format(changeEventBuffer.getSequence()) + " changes, "
+                + numberFormat.format(changeFeed.getWatchedNodes()) + " watched znodes, "
+                + numberFormat.format(changeFeed.getPendingRequests()) + " pending requests";
+            if (changeFeed.getDroppedRequests() > 0) {
+                status += ", " + numberFormat.format(changeFeed.getDroppedRequests()) + " dropped requests";
+            }
+            if (changeFeed.isClosed()) {
+                // the watches do not survive the end of the session, the feed has to be opened again
+                status += " - stopped, the connection was closed";
+            }
+            lblStatus.setText(status);
+        });
+        refreshTimer.start();
+        dialog.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+                changeFeed.close();
+                ZooKeeperBrowserViewer.this.openDialogs--;
+            }
+        });
+
+        this.openDialogs++;
+        dialog.setVisible(true);
+    }
+
+    private void showChildren(ZooKeeperTreeNode node, String[] childNames, int offset, List<ZooKeeperTreeNode> children) {
+        node.setChildNames(childNames, offset);
+
+        List<ZooKeeperTreeNode> window = new ArrayList<>(children.size() + 2);
+        if (offset > 0) {
+            window.add(MoreChildrenTreeNode.previous(offset));
+        }
+        window.addAll(children);
+        if (offset + children.size() < childNames.length) {
+            window.add(MoreChildrenTreeNode.next(childNames.length - offset - children.size()));
+        }
+
+        this.mergeChildren(node, window);
+    }
+
+    private List<ZooKeeperTreeNode> showChildWindow(ZooKeeperTreeNode node, String prefix) {
+        String[] childNames = node.getChildNames();
+        if (childNames == null) {
+            childNames = this.nodeProvider.getChildNames(this.nodeProvider.getNode(node.getZooKeeperPath()));
+        }
+
+        int index = Arrays.binarySearch(childNames, prefix);
+        int offset = Math.min(index < 0 ? -index - 1 : index, Math.max(0, childNames.length - 1));
+        List<ZooKeeperTreeNode> children = this.nodeProvider.getChildren(node, childNames, offset, DEFAULT_MAX_CHILDREN);
+
+        String[] finalChildNames = childNames;
+        invokeAndWait(() -> this.showChildren(node, finalChildNames, offset, children));
+
+        return children;
+    }
+
+    private void showContent(ContentListModel model) {
+        this.contentModel = model;
+        this.contentEditable = model == null || !model.isHex() && model.getContent().length <= MAX_EDITABLE_CONTENT_SIZE;
+
+        CardLayout cardLayout = (CardLayout) this.pnlContent.getLayout();
+        if (this.contentEditable) {
+            this.lstContent.setModel(new DefaultListModel<>());
+            this.textArea.setText(model == null ? "" : new String(model.getContent(), StandardCharsets.UTF_8));
+            this.textArea.setCaretPosition(0);
+            cardLayout.show(this.pnlContent, TEXT_CARD);
+        } else {
+            int lineLength = model.isHex() ? ContentListModel.HEX_LINE_LENGTH : ContentListModel.MAX_LINE_LENGTH;
+            int charWidth = this.lstContent.getFontMetrics(this.lstContent.getFont()).charWidth('0');
+            this.lstContent.setFixedCellWidth(charWidth * lineLength);
+            this.lstContent.setModel(model);
+            this.textArea.setText("");
+            cardLayout.show(this.pnlContent, LINES_CARD);
+        }
+
         this.componentEnablers.forEach(ComponentEnabler::update);
     }
 
-    private void toggleConnect(ActionEvent event) {
-        if (SwingUtilities.isEventDispatchThread()) {
-            new Thread(() -> this.toggleConnect(event)).start();
+    private void showMetrics() {
+        if (this.metricsRegistry == null) {
             return;
         }
 
+        MetricsTableModel metricsTableModel = new MetricsTableModel(this.metricsRegistry);
+        JTable tblMetrics = new JTable(metricsTableModel);
+        tblMetrics.setAutoCreateRowSorter(true);
+
+        CacheMetricsTableModel cacheMetricsTableModel = new CacheMetricsTableModel(this.metricsRegistry);
+        JTable tblCacheMetrics = new JTable(cacheMetricsTableModel);
+        tblCacheMetrics.setAutoCreateRowSorter(true);
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Operations", new JScrollPane(tblMetrics));
+        tabbedPane.addTab("Caches", new JScrollPane(tblCacheMetrics));
+
+        JDialog dialog = new JDialog(this.frame, "Metrics", false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.add(tabbedPane);
+        dialog.setSize(900, 300);
+        dialog.setLocationRelativeTo(this.frame);
+
+        javax.swing.Timer refreshTimer = new javax.swing.Timer(METRICS_REFRESH_DELAY, event -> {
+            metricsTableModel.refresh();
+            cacheMetricsTableModel.refresh();
+        });
+        refreshTimer.start();
+        dialog.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+            }
+        });
+
+        dialog.setVisible(true);
+    }
+
+    private void showNodeDetails(NodeDetails nodeDetails) {
+        String created = nodeDetails.getCreated().toInstant().toString();
+        String modified = nodeDetails.getModified().toInstant().toString();
+        this.txtNodeDetails.setText(
+            nodeDetails.getPath() + ", Created: " + created + ", Modified: " + modified + ", Version: " + nodeDetails.getVersion()
+                + ", Children: " + nodeDetails.getChildren()
+                + ", Data: " + ZooKeeperTreeNodeRenderer.formatSize(nodeDetails.getDataLength())
+                + (nodeDetails.isEphemeral() ? ", Ephemeral" : ""));
+    }
+
+    private void showSubtreeSizes(String path, CompletableFuture<Void> analysis) {
+        SubtreeSizeTableModel subtreeSizeTableModel = new SubtreeSizeTableModel(
+            maxRows -> this.nodeProvider.getHeaviestSubtrees(maxRows),
+            MAX_SUBTREE_SIZE_ROWS);
+        JTable tblSubtreeSizes = new JTable(subtreeSizeTableModel);
+        tblSubtreeSizes.setAutoCreateRowSorter(true);
+        tblSubtreeSizes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tblSubtreeSizes.getSelectionModel().addListSelectionListener(event -> {
+            int selectedRow = tblSubtreeSizes.getSelectedRow();
+            if (!event.getValueIsAdjusting() && selectedRow != -1) {
+                this.revealPath(subtreeSizeTableModel.getPath(tblSubtreeSizes.convertRowIndexToModel(selectedRow)));
+            }
+        });
+
+        JDialog dialog = new JDialog(this.frame, "Heaviest subtrees below " + path, false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.add(new JScrollPane(tblSubtreeSizes));
+        dialog.setSize(900, 400);
+        dialog.setLocationRelativeTo(this.frame);
+
+        // the sizes grow while the analysis is running, the visible tree labels must be laid out again
+        javax.swing.Timer refreshTimer = new javax.swing.Timer(METRICS_REFRESH_DELAY, event -> {
+            // checked before refreshing, so the sizes are refreshed once more after the analysis has completed
+            boolean completed = analysis.isDone();
+            subtreeSizeTableModel.refresh();
+
+            List<ZooKeeperTreeNode> nodes = new ArrayList<>();
+            for (SubtreeSize eachSubtreeSize : subtreeSizeTableModel.getRows()) {
+                ZooKeeperTreeNode node = this.findNode(eachSubtreeSize.getPath());
+                if (node != null) {
+                    nodes.add(node);
+                }
+            }
+            this.treeUpdateScheduler.nodesChanged(nodes);
+
+            if (completed) {
+                ((javax.swing.Timer) event.getSource()).stop();
+            }
+        });
+        refreshTimer.start();
+        dialog.addWindowListener(new WindowAdapter() {
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+            }
+        });
+
+        dialog.setVisible(true);
+    }
+
+    private void showTreeCache(String zookeeperHost) {
+        CachedTree cachedTree;
+        try {
+            cachedTree = this.treeCacheStore.read(zookeeperHost);
+        } catch (IOException | RuntimeException e) {
+            this.logger.warn("Could not read the tree cache of " + zookeeperHost + ".", e);
+            return;
+        }
+
+        if (cachedTree == null) {
+            return;
+        }
+
+        ZooKeeperTreeModel model = new ZooKeeperTreeModel(cachedTree.getRoot());
+        invokeAndWait(() -> {
+            if (this.tree.getModel().getRoot() != null || this.nodeProvider.getConnectionState() == ConnectionState.DISCONNECTED) {
+                return;
+            }
+
+            this.treeModel = model;
+            this.treeCacheShown = true;
+            this.cachedPayloads.putAll(cachedTree.getPayloads());
+
+            this.tree.setModel(this.treeModel);
+            this.setExpandedZooKeeperPaths(cachedTree.getExpandedPaths());
+            this.resizeTree();
+        });
+    }
+
+    private void search() {
+        String query = this.txtSearch.getText();
+        List<String> results = this.nodeProvider.search(query, MAX_SEARCH_RESULTS);
+        if (results.isEmpty()) {
+            JOptionPane.showMessageDialog(
+                this.frame,
+                "No nodes found for '" + query + "'. Use 'Index' to index the selected node first.",
+                "Search",
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JList<String> lstResults = new JList<>(results.toArray(new String[0]));
+        lstResults.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        lstResults.addListSelectionListener(event -> {
+            if (!event.getValueIsAdjusting() && lstResults.getSelectedValue() != null) {
+                this.revealPath(lstResults.getSelectedValue());
+            }
+        });
+
+        JDialog dialog = new JDialog(this.frame, results.size() + " results for '" + query + "'", false);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.add(new JScrollPane(lstResults));
+        dialog.setSize(600, 400);
+        dialog.setLocationRelativeTo(this.frame);
+        dialog.setVisible(true);
+    }
+
+    private void selectZooKeeperPath(String path) {
+        ZooKeeperTreeNode node = this.findNode(path);
+        if (node == null) {
+            return;
+        }
+
+        TreePath treePath = new TreePath(node.getPath());
+        if (treePath.getParentPath() != null) {
+            this.tree.expandPath(treePath.getParentPath());
+        }
+        this.tree.setSelectionPath(treePath);
+        this.tree.scrollPathToVisible(treePath);
+    }
+
+    private void setSelectedZookeeperPath(String selectedZookeeperPath) {
+        this.selectedZookeeperPath = selectedZookeeperPath;
+        this.componentEnablers.forEach(ComponentEnabler::update);
+    }
+
+    private void toggleConnect(ActionEvent event) {
         if (this.tglConnect.isSelected()) {
             this.watchDog = new ConnectionWatchDog(CONNECT_TIMEOUT, this::watchDogCountDown);
             this.timer.scheduleAtFixedRate(this.watchDog, 0, WATCH_DOG_UPDATE_DELAY);
 
-            String zookeeperHost = (String) this.cbxHost.getSelectedItem();
-            zookeeperHost = zookeeperHost.trim();
-            this.nodeProvider.connectTo(zookeeperHost);
+            String zookeeperHost = ((String) this.cbxHost.getSelectedItem()).trim();
+            this.asyncNodeProvider.execute(() -> this.nodeProvider.connectTo(zookeeperHost));
         } else {
+            this.saveTreeCache();
+
             if (this.watchDog != null) {
                 this.watchDog.abortImmediately();
             } else {
-                this.nodeProvider.disconnect();
+                this.asyncNodeProvider.execute(this.nodeProvider::disconnect);
             }
         }
     }
 
+    private void toggleHex() {
+        if (this.contentModel != null) {
+            this.showContent(createContentModel(this.contentModel.getContent(), this.tglHex.isSelected()));
+        }
+    }
+
     private void uncaughtException(Thread thread, Throwable throwable) {
         JOptionPane.showMessageDialog(this.frame, throwable.toString(), "Error", JOptionPane.ERROR_MESSAGE);
     }
 
+    private void updateOperationProgress() {
+        RunningOperation shownOperation = this.getShownOperation();
+
+        this.pgrLoading.setVisible(this.runningOperations.get() > 0 || shownOperation != null);
+        if (shownOperation == null || !shownOperation.hasProgress()) {
+            this.pgrLoading.setIndeterminate(true);
+            this.pgrLoading.setStringPainted(false);
+        } else {
+            this.pgrLoading.setIndeterminate(shownOperation.getTotal() == 0);
+            if (shownOperation.getTotal() > 0) {
+                this.pgrLoading.setMaximum(1_000);
+                this.pgrLoading.setValue((int) (shownOperation.getCompleted() * 1_000 / shownOperation.getTotal()));
+            }
+            this.pgrLoading.setString(shownOperation.getProgress());
+            this.pgrLoading.setStringPainted(true);
+        }
+
+        // only operations reporting their progress can be cancelled
+        this.btnCancel.setVisible(shownOperation != null && shownOperation.hasProgress());
+        this.componentEnablers.forEach(ComponentEnabler::update);
+    }
+
     private void updateTitle(String host) {
         if (host == null || host.trim().isEmpty()) {
-            this.frame.setTitle(BASE_TITLE);
+            this.titleListener.accept(null);
         } else {
-            this.frame.setTitle(BASE_TITLE + " - " + host);
+            this.titleListener.accept(host);
         }
     }
 
@@ -719,6 +1864,14 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
         }
     }
 
+    private void writeTreeCache(String zookeeperHost, byte[] snapshot) {
+        try {
+            this.treeCacheStore.write(zookeeperHost, snapshot);
+        } catch (IOException e) {
+            this.logger.warn("Could not write the tree cache of " + zookeeperHost + ".", e);
+        }
+    }
+
     public static final class UpdateableButtonModel extends DefaultButtonModel {
 
         private static final long serialVersionUID = 1L;
@@ -826,4 +1979,75 @@ public class ZooKeeperBrowserViewer implements TreeWillExpandListener, TreeSelec
             this.remainingTimeConsumer.accept(remainingTime);
         }
     }
+
+    private static final class PayloadCache extends LinkedHashMap<String, byte[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        public PayloadCache(int maxEntries) {
+            super(16, 0.75f, true);
+
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return this.size() > this.maxEntries;
+        }
+    }
+
+    private static final class RunningOperation {
+
+        private final Operation operation;
+        private final String path;
+        private final long startTime = System.currentTimeMillis();
+        private long completed = -1;
+        private long total;
+
+        public RunningOperation(Operation operation, String path) {
+            super();
+
+            this.operation = operation;
+            this.path = path;
+        }
+
+        public long getCompleted() {
+            return this.completed;
+        }
+
+        public Operation getOperation() {
+            return this.operation;
+        }
+
+        public String getPath() {
+            return this.path;
+        }
+
+        public String getProgress() {
+            long elapsed = Math.max(1, System.currentTimeMillis() - this.startTime);
+            NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.ENGLISH);
+            String rate = " (" + numberFormat.format(this.completed * 1_000 / elapsed) + " znodes/s)";
+
+            if (this.total == 0) {
+                return numberFormat.format(this.completed) + rate;
+            }
+
+            return numberFormat.format(this.completed) + " / " + numberFormat.format(this.total) + rate;
+        }
+
+        public long getTotal() {
+            return this.total;
+        }
+
+        public boolean hasProgress() {
+            return this.completed >= 0;
+        }
+
+        public void setProgress(long completedNodes, long totalNodes) {
+            this.completed = completedNodes;
+            this.total = totalNodes;
+        }
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.apache.zookeeper.AsyncCallback.*;
+import org.apache.zookeeper.*;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Stat;
+
+public class ZooKeeperClient extends ZooKeeper {
+
+    private static final int STAT_SIZE = 68;
+    private static final int ACL_SIZE = 8;
+
+    // every request is measured on its own, so batches and bulk operations do not skew the latencies of single requests
+    private final MetricsRegistry metricsRegistry;
+
+    public ZooKeeperClient(String connectString, int sessionTimeout, Watcher watcher, MetricsRegistry metricsRegistry)
+            throws IOException {
+        super(connectString, sessionTimeout, watcher);
+
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    private static long getSize(List<ACL> acl) {
+        long result = 0;
+
+        for (ACL eachAcl : acl) {
+            result += ACL_SIZE + getSize(eachAcl.getId().getScheme()) + getSize(eachAcl.getId().getId());
+        }
+
+        return result;
+    }
+
+    private static long getSize(String value) {
+        // names are transferred UTF-8 encoded, count the encoded length without encoding them
+        long result = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            char eachChar = value.charAt(i);
+
+            if (eachChar < 0x80) {
+                result++;
+            } else if (eachChar < 0x800) {
+                result += 2;
+            } else if (Character.isHighSurrogate(eachChar)) {
+                result += 4;
+                i++;
+            } else {
+                result += 3;
+            }
+        }
+
+        return result;
+    }
+
+    private static long getSize(List<String> children, Stat stat) {
+        long result = stat == null ? 0 : STAT_SIZE;
+
+        if (children != null) {
+            for (String eachChild : children) {
+                result += getSize(eachChild);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isFailed(int rc) {
+        return rc != Code.OK.intValue();
+    }
+
+    private static int length(byte[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    @Override
+    public String create(String path, byte[] data, List<ACL> acl, CreateMode createMode)
+            throws KeeperException, InterruptedException {
+        return this.measure(Operation.CREATE_NODE, () -> super.create(path, data, acl, createMode), result -> length(data));
+    }
+
+    @Override
+    public void create(String path, byte[] data, List<ACL> acl, CreateMode createMode, StringCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.CREATE_NODE);
+        long startTime = operationMetrics.started();
+
+        StringCallback callback = (rc, responsePath, responseCtx, name) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : length(data), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, name);
+        };
+        this.submit(operationMetrics, startTime, () -> super.create(path, data, acl, createMode, callback, ctx));
+    }
+
+    @Override
+    public void delete(String path, int version) throws InterruptedException, KeeperException {
+        this.measure(Operation.DELETE_NODE, () -> {
+            super.delete(path, version);
+            return null;
+        }, result -> 0);
+    }
+
+    @Override
+    public void delete(String path, int version, VoidCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.DELETE_NODE);
+        long startTime = operationMetrics.started();
+
+        VoidCallback callback = (rc, responsePath, responseCtx) -> {
+            operationMetrics.completed(startTime, 0, isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx);
+        };
+        this.submit(operationMetrics, startTime, () -> super.delete(path, version, callback, ctx));
+    }
+
+    @Override
+    public Stat exists(String path, Watcher watcher) throws KeeperException, InterruptedException {
+        return this.measure(Operation.LOAD_STATS, () -> super.exists(path, watcher), result -> STAT_SIZE);
+    }
+
+    @Override
+    public void exists(String path, Watcher watcher, StatCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.LOAD_STATS);
+        long startTime = operationMetrics.started();
+
+        StatCallback callback = (rc, responsePath, responseCtx, stat) -> {
+            // a missing node is a regular answer of exists()
+            boolean failed = isFailed(rc) && rc != Code.NONODE.intValue();
+            operationMetrics.completed(startTime, failed ? 0 : STAT_SIZE, failed);
+            cb.processResult(rc, responsePath, responseCtx, stat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.exists(path, watcher, callback, ctx));
+    }
+
+    @Override
+    public List<ACL> getACL(String path, Stat stat) throws KeeperException, InterruptedException {
+        return this.measure(Operation.LOAD_ACL, () -> super.getACL(path, stat), result -> STAT_SIZE + getSize(result));
+    }
+
+    @Override
+    public void getACL(String path, Stat stat, ACLCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.LOAD_ACL);
+        long startTime = operationMetrics.started();
+
+        ACLCallback callback = (rc, responsePath, responseCtx, acl, responseStat) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : STAT_SIZE + getSize(acl), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, acl, responseStat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.getACL(path, stat, callback, ctx));
+    }
+
+    @Override
+    public List<String> getChildren(String path, Watcher watcher) throws KeeperException, InterruptedException {
+        return this.measure(Operation.LIST_CHILDREN, () -> super.getChildren(path, watcher), result -> getSize(result, null));
+    }
+
+    @Override
+    public List<String> getChildren(String path, Watcher watcher, Stat stat) throws KeeperException, InterruptedException {
+        return this.measure(Operation.LIST_CHILDREN, () -> super.getChildren(path, watcher, stat), result -> getSize(result, stat));
+    }
+
+    @Override
+    public void getChildren(String path, Watcher watcher, Children2Callback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.LIST_CHILDREN);
+        long startTime = operationMetrics.started();
+
+        Children2Callback callback = (rc, responsePath, responseCtx, children, stat) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : getSize(children, stat), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, children, stat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.getChildren(path, watcher, callback, ctx));
+    }
+
+    @Override
+    public void getChildren(String path, Watcher watcher, ChildrenCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.LIST_CHILDREN);
+        long startTime = operationMetrics.started();
+
+        ChildrenCallback callback = (rc, responsePath, responseCtx, children) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : getSize(children, null), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, children);
+        };
+        this.submit(operationMetrics, startTime, () -> super.getChildren(path, watcher, callback, ctx));
+    }
+
+    public String getConnectedServer() {
+        SocketAddress remoteSocketAddress = this.testableRemoteSocketAddress();
+
+        if (remoteSocketAddress instanceof InetSocketAddress) {
+            InetSocketAddress inetSocketAddress = (InetSocketAddress) remoteSocketAddress;
+            return inetSocketAddress.getHostString() + ":" + inetSocketAddress.getPort();
+        }
+
+        return null;
+    }
+
+    @Override
+    public byte[] getData(String path, Watcher watcher, Stat stat) throws KeeperException, InterruptedException {
+        return this.measure(Operation.LOAD_CONTENT, () -> super.getData(path, watcher, stat), result -> STAT_SIZE + length(result));
+    }
+
+    @Override
+    public void getData(String path, Watcher watcher, DataCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.LOAD_CONTENT);
+        long startTime = operationMetrics.started();
+
+        DataCallback callback = (rc, responsePath, responseCtx, data, stat) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : STAT_SIZE + length(data), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, data, stat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.getData(path, watcher, callback, ctx));
+    }
+
+    @Override
+    public List<OpResult> multi(Iterable<Op> ops) throws InterruptedException, KeeperException {
+        return this.measure(Operation.MULTI, () -> super.multi(ops), result -> 0);
+    }
+
+    @Override
+    public void multi(Iterable<Op> ops, MultiCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.MULTI);
+        long startTime = operationMetrics.started();
+
+        MultiCallback callback = (rc, responsePath, responseCtx, opResults) -> {
+            operationMetrics.completed(startTime, 0, isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, opResults);
+        };
+        this.submit(operationMetrics, startTime, () -> super.multi(ops, callback, ctx));
+    }
+
+    @Override
+    public Stat setACL(String path, List<ACL> acl, int version) throws KeeperException, InterruptedException {
+        return this.measure(Operation.SAVE_ACL, () -> super.setACL(path, acl, version), result -> getSize(acl));
+    }
+
+    @Override
+    public void setACL(String path, List<ACL> acl, int version, StatCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.SAVE_ACL);
+        long startTime = operationMetrics.started();
+
+        StatCallback callback = (rc, responsePath, responseCtx, stat) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : getSize(acl), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, stat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.setACL(path, acl, version, callback, ctx));
+    }
+
+    @Override
+    public Stat setData(String path, byte[] data, int version) throws KeeperException, InterruptedException {
+        return this.measure(Operation.SAVE_CONTENT, () -> super.setData(path, data, version), result -> length(data));
+    }
+
+    @Override
+    public void setData(String path, byte[] data, int version, StatCallback cb, Object ctx) {
+        OperationMetrics operationMetrics = this.getMetrics(Operation.SAVE_CONTENT);
+        long startTime = operationMetrics.started();
+
+        StatCallback callback = (rc, responsePath, responseCtx, stat) -> {
+            operationMetrics.completed(startTime, isFailed(rc) ? 0 : length(data), isFailed(rc));
+            cb.processResult(rc, responsePath, responseCtx, stat);
+        };
+        this.submit(operationMetrics, startTime, () -> super.setData(path, data, version, callback, ctx));
+    }
+
+    private OperationMetrics getMetrics(Operation operation) {
+        return this.metricsRegistry.getMetrics(operation, this.getConnectedServer());
+    }
+
+    private <T> T measure(Operation operation, Request<T> request, ToLongFunction<T> bytes)
+            throws KeeperException, InterruptedException {
+        OperationMetrics operationMetrics = this.getMetrics(operation);
+        long startTime = operationMetrics.started();
+
+        T result = null;
+        boolean failed = true;
+        try {
+            result = request.execute();
+            failed = false;
+            return result;
+        } finally {
+            operationMetrics.completed(startTime, failed ? 0 : bytes.applyAsLong(result), failed);
+        }
+    }
+
+    private void submit(OperationMetrics operationMetrics, long startTime, Runnable request) {
+        try {
+            request.run();
+        } catch (RuntimeException e) {
+            // the callback is never invoked for a request that was not sent
+            operationMetrics.completed(startTime, 0, true);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request<T> {
+
+        T execute() throws KeeperException, InterruptedException;
+    }
+}
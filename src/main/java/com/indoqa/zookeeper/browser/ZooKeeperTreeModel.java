@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeNode;
+
+public class ZooKeeperTreeModel extends DefaultTreeModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<NodePath, ZooKeeperTreeNode> nodesByPath = new ConcurrentHashMap<>();
+
+    public ZooKeeperTreeModel(ZooKeeperTreeNode root) {
+        super(root);
+
+        this.index(root);
+    }
+
+    public void addChild(ZooKeeperTreeNode parent, ZooKeeperTreeNode child) {
+        parent.add(child);
+        this.index(child);
+    }
+
+    public ZooKeeperTreeNode getNode(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        return this.nodesByPath.get(NodePath.parse(path));
+    }
+
+    @Override
+    public ZooKeeperTreeNode getRoot() {
+        return (ZooKeeperTreeNode) super.getRoot();
+    }
+
+    public void insertChild(ZooKeeperTreeNode parent, ZooKeeperTreeNode child, int index) {
+        parent.insert(child, index);
+        this.index(child);
+    }
+
+    public ZooKeeperTreeNode removeChild(ZooKeeperTreeNode parent, int index) {
+        ZooKeeperTreeNode child = parent.getChildAt(index);
+
+        parent.remove(index);
+        this.unindex(child);
+
+        return child;
+    }
+
+    private void index(ZooKeeperTreeNode node) {
+        if (node == null) {
+            return;
+        }
+
+        Enumeration<TreeNode> nodes = node.depthFirstEnumeration();
+        while (nodes.hasMoreElements()) {
+            ZooKeeperTreeNode eachNode = (ZooKeeperTreeNode) nodes.nextElement();
+
+            if (eachNode.getNodePath() != null) {
+                this.nodesByPath.put(eachNode.getNodePath(), eachNode);
+            }
+        }
+    }
+
+    private void unindex(ZooKeeperTreeNode node) {
+        Enumeration<TreeNode> nodes = node.depthFirstEnumeration();
+        while (nodes.hasMoreElements()) {
+            ZooKeeperTreeNode eachNode = (ZooKeeperTreeNode) nodes.nextElement();
+
+            if (eachNode.getNodePath() != null) {
+                this.nodesByPath.remove(eachNode.getNodePath(), eachNode);
+            }
+        }
+    }
+}
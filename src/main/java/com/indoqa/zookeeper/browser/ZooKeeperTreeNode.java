@@ -16,14 +16,30 @@
  */
 package com.indoqa.zookeeper.browser;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
+
+import org.apache.zookeeper.data.Stat;
 
 public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
 
     private static final long serialVersionUID = 1L;
 
+    private String[] childNames;
+    private int childOffset;
+
+    private int localChildCount;
+    private boolean locallyExplored = true;
+    private int totalChildCount;
+    private int unexploredCount;
+
     public ZooKeeperTreeNode(NodeDetails nodeDetails) {
         super(nodeDetails);
+
+        this.updateAggregates();
     }
 
     public static String getLastName(String path) {
@@ -44,16 +60,50 @@ public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
         return (ZooKeeperTreeNode) super.getChildAt(index);
     }
 
+    public String[] getChildNames() {
+        return this.childNames;
+    }
+
+    public int getChildOffset() {
+        return this.childOffset;
+    }
+
+    public List<ZooKeeperTreeNode> getLoadedChildren() {
+        List<ZooKeeperTreeNode> result = new ArrayList<>(this.getChildCount());
+
+        for (int i = 0; i < this.getChildCount(); i++) {
+            ZooKeeperTreeNode child = this.getChildAt(i);
+            if (!(child instanceof MoreChildrenTreeNode)) {
+                result.add(child);
+            }
+        }
+
+        return result;
+    }
+
     public NodeDetails getNodeDetails() {
         return (NodeDetails) this.getUserObject();
     }
 
-    public ZooKeeperTreeNode getNodeWithPath(String path) {
-        if (this.getZooKeeperPath().equals(path)) {
+    public NodePath getNodePath() {
+        if (this.getUserObject() == null) {
+            return null;
+        }
+
+        return this.getNodeDetails().getNodePath();
+    }
+
+    public ZooKeeperTreeNode getNodeWithPath(NodePath path) {
+        NodePath nodePath = this.getNodePath();
+        if (nodePath == null) {
+            return null;
+        }
+
+        if (nodePath.equals(path)) {
             return this;
         }
 
-        if (path.startsWith(this.getZooKeeperPath())) {
+        if (path.startsWith(nodePath)) {
             for (int i = 0; i < this.getChildCount(); i++) {
                 ZooKeeperTreeNode child = this.getChildAt(i);
                 ZooKeeperTreeNode result = child.getNodeWithPath(path);
@@ -66,24 +116,20 @@ public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
         return null;
     }
 
-    public String getPathName() {
-        return getLastName(this.getZooKeeperPath());
+    public ZooKeeperTreeNode getNodeWithPath(String path) {
+        return this.getNodeWithPath(NodePath.parse(path));
     }
 
-    public int getTotalChildCount() {
-        int result = 0;
-
-        if (this.getNodeDetails() != null && this.getNodeDetails().getChildren() != null) {
-            result += this.getNodeDetails().getChildren();
-        } else {
-            result += this.getChildCount();
+    public String getPathName() {
+        if (this.getUserObject() == null) {
+            return null;
         }
 
-        for (int i = 0; i < this.getChildCount(); i++) {
-            result += this.getChildAt(i).getTotalChildCount();
-        }
+        return this.getNodeDetails().getName();
+    }
 
-        return result;
+    public int getTotalChildCount() {
+        return this.totalChildCount;
     }
 
     public String getZooKeeperPath() {
@@ -94,18 +140,17 @@ public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
         return this.getNodeDetails().getPath();
     }
 
-    public boolean isFullyExplored() {
-        if (this.getNodeDetailsChildren() == null || this.getNodeDetailsChildren() != this.getChildCount()) {
-            return false;
-        }
+    @Override
+    public void insert(MutableTreeNode newChild, int childIndex) {
+        super.insert(newChild, childIndex);
 
-        for (int i = 0; i < this.getChildCount(); i++) {
-            if (!this.getChildAt(i).isFullyExplored()) {
-                return false;
-            }
-        }
+        ZooKeeperTreeNode child = (ZooKeeperTreeNode) newChild;
+        this.propagate(child.totalChildCount, child.unexploredCount);
+        this.updateAggregates();
+    }
 
-        return true;
+    public boolean isFullyExplored() {
+        return this.unexploredCount == 0;
     }
 
     @Override
@@ -121,6 +166,45 @@ public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
         return this.getNodeDetailsChildren() == null || this.getNodeDetailsChildren() == 0;
     }
 
+    @Override
+    public void remove(int childIndex) {
+        ZooKeeperTreeNode child = this.getChildAt(childIndex);
+        super.remove(childIndex);
+
+        this.propagate(-child.totalChildCount, -child.unexploredCount);
+        this.updateAggregates();
+    }
+
+    public void setChildNames(String[] childNames, int childOffset) {
+        this.childNames = childNames;
+        this.childOffset = childOffset;
+    }
+
+    @Override
+    public void setUserObject(Object userObject) {
+        super.setUserObject(userObject);
+
+        this.updateAggregates();
+    }
+
+    public void update(Stat stat) {
+        this.getNodeDetails().update(stat);
+
+        this.updateAggregates();
+    }
+
+    protected int getLocalChildCount() {
+        if (this.getNodeDetailsChildren() != null) {
+            return this.getNodeDetailsChildren();
+        }
+
+        return this.getChildCount();
+    }
+
+    protected boolean isLocallyExplored() {
+        return this.getNodeDetailsChildren() != null && this.getNodeDetailsChildren() == this.getChildCount();
+    }
+
     private Integer getNodeDetailsChildren() {
         if (this.getNodeDetails() == null) {
             return null;
@@ -128,4 +212,31 @@ public class ZooKeeperTreeNode extends DefaultMutableTreeNode {
 
         return this.getNodeDetails().getChildren();
     }
+
+    private void propagate(int totalChildCountDelta, int unexploredCountDelta) {
+        if (totalChildCountDelta == 0 && unexploredCountDelta == 0) {
+            return;
+        }
+
+        // the counters are not synchronized, the nodes of a visible tree are only changed on the event dispatch thread
+        ZooKeeperTreeNode node = this;
+        while (node != null) {
+            node.totalChildCount += totalChildCountDelta;
+            node.unexploredCount += unexploredCountDelta;
+            node = (ZooKeeperTreeNode) node.getParent();
+        }
+    }
+
+    private void updateAggregates() {
+        int newLocalChildCount = this.getLocalChildCount();
+        boolean newLocallyExplored = this.isLocallyExplored();
+
+        int totalChildCountDelta = newLocalChildCount - this.localChildCount;
+        int unexploredCountDelta = (newLocallyExplored ? 0 : 1) - (this.locallyExplored ? 0 : 1);
+
+        this.localChildCount = newLocalChildCount;
+        this.locallyExplored = newLocallyExplored;
+
+        this.propagate(totalChildCountDelta, unexploredCountDelta);
+    }
 }
@@ -19,6 +19,7 @@ package com.indoqa.zookeeper.browser;
 import java.awt.Component;
 import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.function.Function;
 
 import javax.swing.JTree;
 import javax.swing.tree.DefaultTreeCellRenderer;
@@ -27,6 +28,35 @@ public class ZooKeeperTreeNodeRenderer extends DefaultTreeCellRenderer {
 
     private static final long serialVersionUID = 1L;
 
+    private static final String[] SIZE_UNITS = {"B", "KB", "MB", "GB", "TB"};
+
+    private final Function<NodePath, SubtreeSize> subtreeSizes;
+
+    public ZooKeeperTreeNodeRenderer() {
+        this(path -> null);
+    }
+
+    public ZooKeeperTreeNodeRenderer(Function<NodePath, SubtreeSize> subtreeSizes) {
+        super();
+
+        this.subtreeSizes = subtreeSizes;
+    }
+
+    public static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " " + SIZE_UNITS[0];
+        }
+
+        double size = bytes;
+        int unit = 0;
+        while (size >= 1024 && unit < SIZE_UNITS.length - 1) {
+            size /= 1024;
+            unit++;
+        }
+
+        return String.format(Locale.ENGLISH, "%.1f %s", size, SIZE_UNITS[unit]);
+    }
+
     @Override
     public Component getTreeCellRendererComponent(JTree tree, Object value, boolean sel, boolean expanded, boolean leaf, int row,
             boolean hasFocus) {
@@ -58,19 +88,47 @@ public class ZooKeeperTreeNodeRenderer extends DefaultTreeCellRenderer {
     }
 
     private String getContainerValue(ZooKeeperTreeNode zooKeeperTreeNode) {
-        return new MessageFormat("{0} (Children: {1} / {2}{3})", Locale.ENGLISH).format(
+        String value = new MessageFormat("{0} (Children: {1} / {2}{3}, Data: {4}", Locale.ENGLISH).format(
             new Object[] {
                 zooKeeperTreeNode.getPathName(),
                 zooKeeperTreeNode.getChildCount(),
                 zooKeeperTreeNode.getTotalChildCount(),
-                zooKeeperTreeNode.isFullyExplored() ? "" : "*"});
+                zooKeeperTreeNode.isFullyExplored() ? "" : "*",
+                formatSize(this.getDataLength(zooKeeperTreeNode))});
+
+        SubtreeSize subtreeSize = this.subtreeSizes.apply(zooKeeperTreeNode.getNodePath());
+        if (subtreeSize == null) {
+            return value + ")";
+        }
+
+        return new MessageFormat("{0}, Subtree: {1} in {2} znodes)", Locale.ENGLISH).format(
+            new Object[] {value, formatSize(subtreeSize.getBytes()), subtreeSize.getNodes()});
+    }
+
+    private int getDataLength(ZooKeeperTreeNode zooKeeperTreeNode) {
+        NodeDetails nodeDetails = zooKeeperTreeNode.getNodeDetails();
+        return nodeDetails == null ? 0 : nodeDetails.getDataLength();
     }
 
     private String getLeafValue(ZooKeeperTreeNode zooKeeperTreeNode) {
-        if (zooKeeperTreeNode.isFullyExplored()) {
-            return zooKeeperTreeNode.getPathName();
+        StringBuilder stringBuilder = new StringBuilder(zooKeeperTreeNode.getPathName());
+
+        if (!zooKeeperTreeNode.isFullyExplored()) {
+            stringBuilder.append('*');
+        }
+
+        // nodes without stats, e.g. created from a cached child name, have no data length yet
+        NodeDetails nodeDetails = zooKeeperTreeNode.getNodeDetails();
+        if (nodeDetails == null || nodeDetails.getCreated() == null) {
+            return stringBuilder.toString();
+        }
+
+        stringBuilder.append(" (").append(formatSize(nodeDetails.getDataLength()));
+        if (nodeDetails.isEphemeral()) {
+            stringBuilder.append(", ephemeral");
         }
+        stringBuilder.append(')');
 
-        return zooKeeperTreeNode.getPathName() + "*";
+        return stringBuilder.toString();
     }
 }
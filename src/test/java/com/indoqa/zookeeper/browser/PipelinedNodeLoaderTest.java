@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.*;
+import org.apache.zookeeper.AsyncCallback.StatCallback;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.apache.zookeeper.data.Stat;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PipelinedNodeLoaderTest {
+
+    private static final String PARENT_PATH = "/pipelined";
+    private static final int MAX_PENDING_REQUESTS = 10;
+    private static final int CHILD_COUNT = 250;
+
+    private static TestingServer testingServer;
+    private static CountingZooKeeper zooKeeper;
+
+    private PipelinedNodeLoader nodeLoader;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        testingServer = new TestingServer();
+
+        CountDownLatch connected = new CountDownLatch(1);
+        zooKeeper = new CountingZooKeeper(testingServer.getConnectString(), event -> {
+            if (event.getState() == KeeperState.SyncConnected) {
+                connected.countDown();
+            }
+        });
+        connected.await();
+
+        zooKeeper.create(PARENT_PATH, new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+        // created in reverse order, the loader has to sort the names
+        for (int i = CHILD_COUNT - 1; i >= 0; i--) {
+            zooKeeper.create(getChildPath(i), getData(i), ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+        }
+        zooKeeper.create(getChildPath(0) + "/grandchild", new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        zooKeeper.close();
+        testingServer.close();
+    }
+
+    private static String getChildName(int index) {
+        return String.format("child-%04d", index);
+    }
+
+    private static String getChildPath(int index) {
+        return ZooKeeperBrowserMain.join(PARENT_PATH, getChildName(index));
+    }
+
+    private static byte[] getData(int index) {
+        return ("data-" + index).getBytes(UTF_8);
+    }
+
+    @Before
+    public void setUp() {
+        this.nodeLoader = new PipelinedNodeLoader(zooKeeper, MAX_PENDING_REQUESTS);
+        zooKeeper.reset();
+    }
+
+    @Test
+    public void loadChildren() throws Exception {
+        ZooKeeperTreeNode node = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH));
+
+        String[] childNames = this.nodeLoader.loadChildNames(node, false);
+        List<ZooKeeperTreeNode> children = this.nodeLoader.loadChildren(node, childNames, 0, CHILD_COUNT, false);
+
+        assertEquals(Integer.valueOf(CHILD_COUNT), node.getNodeDetails().getChildren());
+        assertEquals(CHILD_COUNT, childNames.length);
+        assertEquals(CHILD_COUNT, children.size());
+
+        for (int i = 0; i < CHILD_COUNT; i++) {
+            NodeDetails nodeDetails = children.get(i).getNodeDetails();
+
+            assertEquals(getChildName(i), childNames[i]);
+            assertEquals(getChildPath(i), nodeDetails.getPath());
+            assertNotNull(nodeDetails.getCreated());
+            assertEquals(getData(i).length, nodeDetails.getDataLength());
+            assertEquals(Integer.valueOf(i == 0 ? 1 : 0), nodeDetails.getChildren());
+        }
+    }
+
+    @Test
+    public void loadChildrenWindow() throws Exception {
+        ZooKeeperTreeNode node = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH));
+
+        String[] childNames = this.nodeLoader.loadChildNames(node, false);
+        List<ZooKeeperTreeNode> children = this.nodeLoader.loadChildren(node, childNames, 200, 100, false);
+
+        assertEquals(CHILD_COUNT - 200, children.size());
+        for (int i = 0; i < children.size(); i++) {
+            assertEquals(getChildPath(200 + i), children.get(i).getZooKeeperPath());
+            assertEquals(getData(200 + i).length, children.get(i).getNodeDetails().getDataLength());
+        }
+    }
+
+    @Test
+    public void loadStatsOfDeletedNode() throws Exception {
+        ZooKeeperTreeNode missingNode = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH + "/missing"));
+
+        this.nodeLoader.loadStats(Collections.singletonList(missingNode), false);
+
+        assertNull(missingNode.getNodeDetails().getCreated());
+    }
+
+    @Test
+    public void roundTripsPerExpansion() throws Exception {
+        ZooKeeperTreeNode node = new ZooKeeperTreeNode(NodeDetails.withPath(PARENT_PATH));
+
+        String[] childNames = this.nodeLoader.loadChildNames(node, false);
+        this.nodeLoader.loadChildren(node, childNames, 0, CHILD_COUNT, false);
+
+        // the child list is the only blocking round trip, the stats of all children are pipelined
+        assertEquals(1, zooKeeper.getBlockingRequests());
+        assertEquals(CHILD_COUNT, zooKeeper.getAsyncRequests());
+        assertTrue(zooKeeper.getMaxPendingRequests() <= MAX_PENDING_REQUESTS);
+    }
+
+    private static class CountingZooKeeper extends ZooKeeper {
+
+        private final AtomicInteger blockingRequests = new AtomicInteger();
+        private final AtomicInteger asyncRequests = new AtomicInteger();
+        private final AtomicInteger pendingRequests = new AtomicInteger();
+        private final AtomicInteger maxPendingRequests = new AtomicInteger();
+
+        public CountingZooKeeper(String connectString, Watcher watcher) throws IOException {
+            super(connectString, 30_000, watcher);
+        }
+
+        @Override
+        public Stat exists(String path, boolean watch) throws KeeperException, InterruptedException {
+            this.blockingRequests.incrementAndGet();
+            return super.exists(path, watch);
+        }
+
+        @Override
+        public void exists(String path, boolean watch, StatCallback cb, Object ctx) {
+            this.asyncRequests.incrementAndGet();
+            this.maxPendingRequests.accumulateAndGet(this.pendingRequests.incrementAndGet(), Math::max);
+
+            super.exists(path, watch, (rc, responsePath, responseCtx, stat) -> {
+                this.pendingRequests.decrementAndGet();
+                cb.processResult(rc, responsePath, responseCtx, stat);
+            }, ctx);
+        }
+
+        public int getAsyncRequests() {
+            return this.asyncRequests.get();
+        }
+
+        public int getBlockingRequests() {
+            return this.blockingRequests.get();
+        }
+
+        @Override
+        public List<String> getChildren(String path, boolean watch, Stat stat) throws KeeperException, InterruptedException {
+            this.blockingRequests.incrementAndGet();
+            return super.getChildren(path, watch, stat);
+        }
+
+        public int getMaxPendingRequests() {
+            return this.maxPendingRequests.get();
+        }
+
+        public void reset() {
+            this.blockingRequests.set(0);
+            this.asyncRequests.set(0);
+            this.maxPendingRequests.set(0);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Id;
+import org.apache.zookeeper.data.Stat;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SnapshotWriterTest {
+
+    private static final byte[] BINARY_DATA = {0, 1, 2, (byte) 0xff};
+
+    private static TestingServer testingServer;
+    private static ZooKeeper zooKeeper;
+    private static ZooKeeperBrowserMain zooKeeperBrowserMain;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        testingServer = new TestingServer();
+
+        CountDownLatch connected = new CountDownLatch(1);
+        zooKeeper = new ZooKeeper(testingServer.getConnectString(), 30_000, event -> {
+            if (event.getState() == KeeperState.SyncConnected) {
+                connected.countDown();
+            }
+        });
+        connected.await();
+
+        CountDownLatch browserConnected = new CountDownLatch(1);
+        zooKeeperBrowserMain = new ZooKeeperBrowserMain();
+        zooKeeperBrowserMain.setConnectionStateListener(() -> {
+            if (zooKeeperBrowserMain.getConnectionState() == ConnectionState.CONNECTED) {
+                browserConnected.countDown();
+            }
+        });
+        zooKeeperBrowserMain.connectTo(testingServer.getConnectString());
+        assertTrue(browserConnected.await(30, TimeUnit.SECONDS));
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        zooKeeperBrowserMain.disconnect();
+        zooKeeper.close();
+        testingServer.close();
+    }
+
+    private static void assertNodeRecord(NodeRecord expected, NodeRecord actual) {
+        assertEquals(expected.getPath(), actual.getPath());
+        assertEquals(expected.getStat().getVersion(), actual.getStat().getVersion());
+        assertEquals(expected.getStat().getEphemeralOwner(), actual.getStat().getEphemeralOwner());
+        assertEquals(expected.getAcl(), actual.getAcl());
+
+        if (expected.getData() == null) {
+            assertNull(actual.getData());
+        } else {
+            assertArrayEquals(expected.getData(), actual.getData());
+        }
+    }
+
+    private static void create(String path, byte[] data) throws Exception {
+        zooKeeper.create(path, data, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+    }
+
+    private static NodeRecord createNodeRecord(String path, byte[] data) {
+        Stat stat = new Stat();
+        stat.setVersion(3);
+        stat.setEphemeralOwner(path.length());
+
+        NodeRecord result = NodeRecord.withPath(path);
+        result.setStat(stat);
+        result.setData(data);
+        result.setAcl(Arrays.asList(new ACL(ZooDefs.Perms.READ, new Id("digest", "user:hash"))));
+        return result;
+    }
+
+    private static boolean isCompressed(Path file) throws Exception {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return (inputStream.read() | inputStream.read() << 8) == GZIPInputStream.GZIP_MAGIC;
+        }
+    }
+
+    private static void roundTrip(boolean compressed) throws Exception {
+        NodeRecord[] nodeRecords = {
+            createNodeRecord("/round-trip", "root".getBytes(UTF_8)),
+            createNodeRecord("/round-trip/binary", BINARY_DATA),
+            createNodeRecord("/round-trip/empty", null)};
+
+        Path file = Files.createTempFile("snapshot", compressed ? ".zks.gz" : ".zks");
+        try {
+            try (SnapshotWriter snapshotWriter = new SnapshotWriter(file, "/round-trip", compressed)) {
+                for (NodeRecord eachNodeRecord : nodeRecords) {
+                    snapshotWriter.visit(eachNodeRecord);
+                }
+                snapshotWriter.finish();
+            }
+
+            assertEquals(compressed, isCompressed(file));
+
+            try (SnapshotReader snapshotReader = new SnapshotReader(file)) {
+                assertEquals("/round-trip", snapshotReader.getRootPath());
+
+                // the paths are stored relative to the root of the snapshot
+                assertNodeRecord(relativize(nodeRecords[0], ""), snapshotReader.read());
+                assertNodeRecord(relativize(nodeRecords[1], "/binary"), snapshotReader.read());
+                assertNodeRecord(relativize(nodeRecords[2], "/empty"), snapshotReader.read());
+                assertNull(snapshotReader.read());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static NodeRecord relativize(NodeRecord nodeRecord, String relativePath) {
+        nodeRecord.setPath(relativePath);
+        return nodeRecord;
+    }
+
+    @Test
+    public void exportAndImport() throws Exception {
+        create("/export", "root".getBytes(UTF_8));
+        create("/export/binary", BINARY_DATA);
+        create("/export/binary/child", new byte[0]);
+        create("/copy", new byte[0]);
+
+        Path file = Files.createTempFile("snapshot", ".zks.gz");
+        try {
+            zooKeeperBrowserMain.exportSubtree("/export", file);
+            assertTrue(isCompressed(file));
+
+            zooKeeperBrowserMain.importSubtree(file, "/copy", ConflictPolicy.FAIL);
+        } finally {
+            Files.delete(file);
+        }
+
+        assertArrayEquals("root".getBytes(UTF_8), zooKeeper.getData("/copy/export", false, null));
+        assertArrayEquals(BINARY_DATA, zooKeeper.getData("/copy/export/binary", false, null));
+        assertNotNull(zooKeeper.exists("/copy/export/binary/child", false));
+    }
+
+    @Test
+    public void failedExportDeletesFile() throws Exception {
+        Path file = Files.createTempFile("snapshot", ".zks");
+
+        try {
+            zooKeeperBrowserMain.exportSubtree("/missing", file);
+            fail("Exporting a missing node must fail.");
+        } catch (ZooKeeperBrowserException e) {
+            // expected
+        }
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        roundTrip(false);
+    }
+
+    @Test
+    public void roundTripCompressed() throws Exception {
+        roundTrip(true);
+    }
+
+    @Test
+    public void truncatedSnapshot() throws Exception {
+        Path file = Files.createTempFile("snapshot", ".zks.gz");
+
+        try {
+            // without finish() the end marker is missing, like in a snapshot that was not written completely
+            try (SnapshotWriter snapshotWriter = new SnapshotWriter(file, "/truncated", true)) {
+                snapshotWriter.visit(createNodeRecord("/truncated", new byte[0]));
+            }
+
+            try (SnapshotReader snapshotReader = new SnapshotReader(file)) {
+                assertNotNull(snapshotReader.read());
+
+                try {
+                    snapshotReader.read();
+                    fail("A snapshot without end marker must not be read completely.");
+                } catch (EOFException e) {
+                    // expected
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.*;
+import org.apache.zookeeper.AsyncCallback.MultiCallback;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SubtreeDeleterTest {
+
+    private static final int MAX_PENDING_REQUESTS = 10;
+    private static final int MAX_PENDING_BATCHES = 2;
+    // more children than fit into a single multi() transaction
+    private static final int CHILD_COUNT = 2_500;
+    private static final int GRANDCHILD_COUNT = 3;
+
+    private static TestingServer testingServer;
+    private static InterferingZooKeeper zooKeeper;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        testingServer = new TestingServer();
+
+        CountDownLatch connected = new CountDownLatch(1);
+        zooKeeper = new InterferingZooKeeper(testingServer.getConnectString(), event -> {
+            if (event.getState() == KeeperState.SyncConnected) {
+                connected.countDown();
+            }
+        });
+        connected.await();
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        zooKeeper.close();
+        testingServer.close();
+    }
+
+    private static void createSubtree(String path) throws Exception {
+        zooKeeper.create(path, new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+
+        List<Op> operations = new ArrayList<>();
+        for (int i = 0; i < CHILD_COUNT; i++) {
+            String childPath = ZooKeeperBrowserMain.join(path, "child-" + i);
+            operations.add(Op.create(childPath, new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT));
+
+            if (i < GRANDCHILD_COUNT) {
+                String grandchildPath = ZooKeeperBrowserMain.join(childPath, "grandchild");
+                operations.add(Op.create(grandchildPath, new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT));
+            }
+
+            if (operations.size() >= 500) {
+                zooKeeper.multi(operations);
+                operations.clear();
+            }
+        }
+        zooKeeper.multi(operations);
+    }
+
+    @Test
+    public void cancelled() throws Exception {
+        createSubtree("/deleter-cancelled");
+
+        SubtreeDeleter subtreeDeleter = new SubtreeDeleter(zooKeeper, MAX_PENDING_REQUESTS, MAX_PENDING_BATCHES);
+        subtreeDeleter.setCancelled(() -> true);
+
+        try {
+            subtreeDeleter.delete("/deleter-cancelled");
+            fail("The cancelled deleter must not complete.");
+        } catch (CancellationException e) {
+            // expected
+        }
+
+        assertNotNull(zooKeeper.exists("/deleter-cancelled/child-0", false));
+    }
+
+    @Test
+    public void deleteSubtree() throws Exception {
+        createSubtree("/deleter");
+
+        SubtreeDeleter subtreeDeleter = new SubtreeDeleter(zooKeeper, MAX_PENDING_REQUESTS, MAX_PENDING_BATCHES);
+        long deleted = subtreeDeleter.delete("/deleter");
+
+        assertEquals(1 + CHILD_COUNT + GRANDCHILD_COUNT, deleted);
+        assertNull(zooKeeper.exists("/deleter", false));
+    }
+
+    @Test
+    public void retryRolledBackBatch() throws Exception {
+        createSubtree("/deleter-concurrent");
+
+        // a node deleted concurrently rolls back the whole transaction, its nodes are retried one by one
+        zooKeeper.deleteBeforeNextMulti();
+        SubtreeDeleter subtreeDeleter = new SubtreeDeleter(zooKeeper, MAX_PENDING_REQUESTS, MAX_PENDING_BATCHES);
+        long deleted = subtreeDeleter.delete("/deleter-concurrent");
+
+        assertEquals(1 + CHILD_COUNT + GRANDCHILD_COUNT, deleted);
+        assertNull(zooKeeper.exists("/deleter-concurrent", false));
+    }
+
+    private static class InterferingZooKeeper extends ZooKeeper {
+
+        private final AtomicBoolean deleteBeforeNextMulti = new AtomicBoolean();
+
+        public InterferingZooKeeper(String connectString, Watcher watcher) throws IOException {
+            super(connectString, 30_000, watcher);
+        }
+
+        public void deleteBeforeNextMulti() {
+            this.deleteBeforeNextMulti.set(true);
+        }
+
+        @Override
+        public void multi(Iterable<Op> ops, MultiCallback cb, Object ctx) {
+            if (this.deleteBeforeNextMulti.compareAndSet(true, false)) {
+                try {
+                    this.delete(ops.iterator().next().getPath(), -1);
+                } catch (KeeperException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            super.multi(ops, cb, ctx);
+        }
+    }
+}
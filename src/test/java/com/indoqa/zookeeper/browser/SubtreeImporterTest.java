@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.zookeeper.browser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SubtreeImporterTest {
+
+    private static final int MAX_PENDING_BATCHES = 2;
+
+    private static TestingServer testingServer;
+    private static ZooKeeper zooKeeper;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        testingServer = new TestingServer();
+
+        CountDownLatch connected = new CountDownLatch(1);
+        zooKeeper = new ZooKeeper(testingServer.getConnectString(), 30_000, event -> {
+            if (event.getState() == KeeperState.SyncConnected) {
+                connected.countDown();
+            }
+        });
+        connected.await();
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        zooKeeper.close();
+        testingServer.close();
+    }
+
+    private static void create(String path, String data) throws Exception {
+        zooKeeper.create(path, data.getBytes(UTF_8), ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+    }
+
+    private static NodeRecord createNodeRecord(String path, String data) {
+        NodeRecord result = NodeRecord.withPath(path);
+        result.setStat(new Stat());
+        result.setData(data.getBytes(UTF_8));
+        return result;
+    }
+
+    private static String getData(String path) throws Exception {
+        return new String(zooKeeper.getData(path, false, null), UTF_8);
+    }
+
+    private static long importSnapshot(Path file, String targetPath, ConflictPolicy conflictPolicy) throws Exception {
+        try (SnapshotReader snapshotReader = new SnapshotReader(file)) {
+            SubtreeImporter subtreeImporter = new SubtreeImporter(zooKeeper, MAX_PENDING_BATCHES);
+            subtreeImporter.setConflictPolicy(conflictPolicy);
+            return subtreeImporter.importSubtree(snapshotReader, targetPath);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Path writeSnapshot(String rootPath, NodeRecord... nodeRecords) throws IOException {
+        Path result = Files.createTempFile("snapshot", ".zks");
+
+        try (SnapshotWriter snapshotWriter = new SnapshotWriter(result, rootPath, false)) {
+            for (NodeRecord eachNodeRecord : nodeRecords) {
+                snapshotWriter.visit(eachNodeRecord);
+            }
+            snapshotWriter.finish();
+        }
+
+        return result;
+    }
+
+    private static Path writeSourceSnapshot() throws IOException {
+        return writeSnapshot(
+            "/source",
+            createNodeRecord("/source", "root"),
+            createNodeRecord("/source/a", "new"),
+            createNodeRecord("/source/b", "b"));
+    }
+
+    @Test
+    public void failOnExisting() throws Exception {
+        create("/fail", "old");
+        create("/fail/a", "old");
+
+        try {
+            importSnapshot(writeSourceSnapshot(), "/fail", ConflictPolicy.FAIL);
+            fail("The import must fail on the existing node.");
+        } catch (ZooKeeperBrowserException e) {
+            // expected
+        }
+
+        assertEquals("old", getData("/fail"));
+        assertEquals("old", getData("/fail/a"));
+    }
+
+    @Test
+    public void importEnsembleSnapshot() throws Exception {
+        create("/ensemble", "target");
+
+        Path file = writeSnapshot(
+            "/",
+            createNodeRecord("/", "root"),
+            createNodeRecord("/zookeeper", ""),
+            createNodeRecord("/zookeeper/quota", ""),
+            createNodeRecord("/app", "app"));
+        // neither the root nor /zookeeper are imported, so there is no conflict with the target node
+        long imported = importSnapshot(file, "/ensemble", ConflictPolicy.FAIL);
+
+        assertEquals(1, imported);
+        assertEquals("target", getData("/ensemble"));
+        assertEquals("app", getData("/ensemble/app"));
+        assertNull(zooKeeper.exists("/ensemble/zookeeper", false));
+    }
+
+    @Test
+    public void importNew() throws Exception {
+        long imported = importSnapshot(writeSourceSnapshot(), "/new", ConflictPolicy.FAIL);
+
+        assertEquals(3, imported);
+        assertEquals("root", getData("/new"));
+        assertEquals("new", getData("/new/a"));
+        assertEquals("b", getData("/new/b"));
+    }
+
+    @Test
+    public void overwriteExisting() throws Exception {
+        create("/overwrite", "old");
+        create("/overwrite/a", "old");
+
+        importSnapshot(writeSourceSnapshot(), "/overwrite", ConflictPolicy.OVERWRITE);
+
+        assertEquals("root", getData("/overwrite"));
+        assertEquals("new", getData("/overwrite/a"));
+        assertEquals("b", getData("/overwrite/b"));
+    }
+
+    @Test
+    public void skipEphemeral() throws Exception {
+        NodeRecord ephemeralNodeRecord = createNodeRecord("/source/ephemeral", "");
+        ephemeralNodeRecord.getStat().setEphemeralOwner(1);
+
+        Path file = writeSnapshot("/source", createNodeRecord("/source", ""), ephemeralNodeRecord);
+        importSnapshot(file, "/ephemeral", ConflictPolicy.FAIL);
+
+        assertNotNull(zooKeeper.exists("/ephemeral", false));
+        assertNull(zooKeeper.exists("/ephemeral/ephemeral", false));
+    }
+
+    @Test
+    public void skipExisting() throws Exception {
+        create("/skip", "old");
+        create("/skip/a", "old");
+
+        // the conflict rolls back the whole batch, /skip/b is only created when the batch is replayed node by node
+        long imported = importSnapshot(writeSourceSnapshot(), "/skip", ConflictPolicy.SKIP);
+
+        assertEquals(3, imported);
+        assertEquals("old", getData("/skip"));
+        assertEquals("old", getData("/skip/a"));
+        assertEquals("b", getData("/skip/b"));
+    }
+}